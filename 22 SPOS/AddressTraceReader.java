@@ -0,0 +1,226 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.function.*;
+
+// Streams a trace of 64-bit virtual addresses as page numbers, straight
+// from a memory-mapped file into whatever consumes pages (the replacement
+// engines in PageReplacementSimulator, the TLBs and page table in
+// AddressTranslationSimulator) without writing a page trace first.
+//
+// Formats:
+//   TEXT   - one unsigned address per line, hex with a 0x prefix or decimal;
+//            blank lines and lines starting with # are skipped, and
+//            anything after the address (size, access type) is ignored
+//   BINARY - little-endian 64-bit addresses
+//
+// page = address >>> pageShift (12 for 4K pages, 21 for 2M, 30 for 1G).
+// Pages are at least 2 bytes, so a page number never has the top bit set
+// and Long.MIN_VALUE stays free as the empty marker of Tlb and
+// LongIntHashMap.
+// With dedup on, a run of consecutive references to the same page is
+// passed on once. The repeats would be hits under every engine here, though
+// they could still bump recency or frequency state (ARC, 2Q, CLOCK-Pro);
+// they are counted in addresses() either way.
+//
+// Page numbers wider than an int are renumbered densely (in first-touch
+// order) when renumber is on; otherwise such a page is an error.
+// Renumbering keeps which references share a page, which is all the
+// replacement engines look at, but not the page numbers themselves: TLB
+// set indexes and page-table directories computed from renumbered pages
+// mean nothing, so the translation simulator takes the full page numbers
+// from forEachPageNumber instead.
+public class AddressTraceReader implements Closeable {
+    // largest value whose next decimal digit can still fit in 64 unsigned bits
+    private static final long DECIMAL_LIMIT = Long.divideUnsigned(-1L, 10);
+
+    enum Format { TEXT, BINARY }
+
+    private final FileChannel channel;
+    private final Format format;
+    private final int pageShift;
+    private final boolean dedup;
+    private final LongIntHashMap idOf; // null unless renumbering
+
+    private long addresses;
+    private long pages;
+    private long lastPage;
+
+    private AddressTraceReader(FileChannel channel, Format format, int pageShift, boolean dedup, boolean renumber) {
+        this.channel = channel;
+        this.format = format;
+        this.pageShift = pageShift;
+        this.dedup = dedup;
+        this.idOf = renumber ? new LongIntHashMap(1024, -1) : null;
+    }
+
+    public static AddressTraceReader open(Path path, Format format, int pageShift, boolean dedup, boolean renumber)
+            throws IOException {
+        if (pageShift < 1 || pageShift > 63) {
+            throw new IllegalArgumentException("pageShift out of range: " + pageShift);
+        }
+        return new AddressTraceReader(FileChannel.open(path, StandardOpenOption.READ), format, pageShift, dedup, renumber);
+    }
+
+    public static Format parseFormat(String name) {
+        switch (name.toLowerCase()) {
+            case "text": return Format.TEXT;
+            case "binary": return Format.BINARY;
+            default: throw new IllegalArgumentException("Unknown address trace format: " + name);
+        }
+    }
+
+    // "4k", "2m", "1g" or a byte count, which must be a power of two of at
+    // least 2
+    public static int parsePageShift(String size) {
+        String s = size.toLowerCase();
+        long bytes;
+        switch (s.charAt(s.length() - 1)) {
+            case 'k': bytes = Long.parseLong(s.substring(0, s.length() - 1)) << 10; break;
+            case 'm': bytes = Long.parseLong(s.substring(0, s.length() - 1)) << 20; break;
+            case 'g': bytes = Long.parseLong(s.substring(0, s.length() - 1)) << 30; break;
+            default: bytes = Long.parseLong(s);
+        }
+        if (bytes < 2 || Long.bitCount(bytes) != 1) {
+            throw new IllegalArgumentException("Page size must be a power of two of at least 2: " + size);
+        }
+        return Long.numberOfTrailingZeros(bytes);
+    }
+
+    // Streams the trace, in order, as int page numbers (renumbered if enabled)
+    public void forEachPage(IntConsumer consumer) throws IOException {
+        forEachPageNumber(page -> consumer.accept(pageId(page)));
+    }
+
+    // Streams the trace, in order, as full 64-bit page numbers; never renumbers
+    public void forEachPageNumber(LongConsumer consumer) throws IOException {
+        if (format == Format.BINARY) {
+            forEachBinary(consumer);
+        } else {
+            forEachText(consumer);
+        }
+    }
+
+    // Addresses read so far
+    public long addresses() {
+        return addresses;
+    }
+
+    // Pages passed on so far; fewer than addresses() when dedup merges runs
+    public long pages() {
+        return pages;
+    }
+
+    private void forEachBinary(LongConsumer consumer) throws IOException {
+        long end = channel.size() & ~7L;
+        for (long offset = 0; offset < end; offset += TraceReader.WINDOW) {
+            LongBuffer window = map(offset, Math.min(TraceReader.WINDOW, end - offset)).asLongBuffer();
+            for (int i = 0, n = window.limit(); i < n; i++) {
+                emit(window.get(i), consumer);
+            }
+        }
+    }
+
+    private void forEachText(LongConsumer consumer) throws IOException {
+        // parser state lives outside the loop so a line may span two windows
+        long value = 0;
+        int digits = 0;
+        boolean hex = false;
+        boolean reading = false;
+        boolean skipLine = false;
+        long size = channel.size();
+        for (long offset = 0; offset < size; offset += TraceReader.WINDOW) {
+            ByteBuffer window = map(offset, Math.min(TraceReader.WINDOW, size - offset));
+            for (int i = 0, n = window.limit(); i < n; i++) {
+                int b = window.get(i);
+                if (b == '\n') {
+                    if (reading) emit(finish(value, digits, offset + i), consumer);
+                    reading = false;
+                    skipLine = false;
+                    continue;
+                }
+                if (skipLine) continue;
+
+                if (reading) {
+                    int digit = digitOf(b, hex);
+                    if (digit >= 0) {
+                        if (++digits > (hex ? 16 : 20) || (!hex && (Long.compareUnsigned(value, DECIMAL_LIMIT) > 0
+                                || (value == DECIMAL_LIMIT && digit > 5)))) {
+                            throw new IOException("Address above 2^64 - 1 at byte " + (offset + i));
+                        }
+                        value = hex ? (value << 4) | digit : value * 10 + digit;
+                    } else if ((b == 'x' || b == 'X') && !hex && digits == 1 && value == 0) {
+                        hex = true;
+                        digits = 0;
+                    } else if (b == ' ' || b == '\t' || b == '\r' || b == ',') {
+                        emit(finish(value, digits, offset + i), consumer);
+                        reading = false;
+                        skipLine = true;
+                    } else {
+                        throw new IOException("Unexpected character '" + (char) b + "' at byte " + (offset + i));
+                    }
+                } else if (b == '#') {
+                    skipLine = true;
+                } else if (b >= '0' && b <= '9') {
+                    reading = true;
+                    hex = false;
+                    value = b - '0';
+                    digits = 1;
+                } else if (b != ' ' && b != '\t' && b != '\r') {
+                    throw new IOException("Unexpected character '" + (char) b + "' at byte " + (offset + i));
+                }
+            }
+        }
+        if (reading) emit(finish(value, digits, size), consumer);
+    }
+
+    private static long finish(long value, int digits, long position) throws IOException {
+        if (digits == 0) {
+            throw new IOException("0x without digits before byte " + position);
+        }
+        return value;
+    }
+
+    private static int digitOf(int b, boolean hex) {
+        if (b >= '0' && b <= '9') return b - '0';
+        if (!hex) return -1;
+        if (b >= 'a' && b <= 'f') return b - 'a' + 10;
+        if (b >= 'A' && b <= 'F') return b - 'A' + 10;
+        return -1;
+    }
+
+    private void emit(long address, LongConsumer consumer) {
+        addresses++;
+        long page = address >>> pageShift;
+        if (dedup && pages > 0 && page == lastPage) return;
+        lastPage = page;
+        pages++;
+        consumer.accept(page);
+    }
+
+    private int pageId(long page) {
+        if (idOf == null) {
+            if (page < 0 || page > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Page number " + Long.toUnsignedString(page)
+                        + " does not fit in an int; use a larger page size, or renumbering for page replacement");
+            }
+            return (int) page;
+        }
+        int id = idOf.get(page);
+        if (id < 0) {
+            id = idOf.size();
+            idOf.put(page, id);
+        }
+        return id;
+    }
+
+    private ByteBuffer map(long offset, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,179 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+// TLBs and a two-level page table in front of a page-replacement policy,
+// timing every reference with a simple latency model:
+//   L1 TLB hit  -> l1 latency + memory access
+//   L2 TLB hit  -> + l2 latency, refills L1
+//   both miss   -> + one memory access per page-table level (the walk)
+//   page fault  -> + fault service time
+// The frame policy sees every reference, as hardware reference bits would,
+// and a page it evicts is shot down in both TLBs so they never hold a
+// translation for a page that is not resident.
+//
+// The page table splits a page number into a directory index (high bits)
+// and a table index (low tableBits bits); second-level tables are counted
+// as they are first touched to report the table's memory footprint.
+//
+// access(int) hands the page number to the frame policy as it is.
+// access(long) takes full 64-bit page numbers from an address trace: the
+// TLBs and page table see the real number, while the frame policy, which
+// only cares which references share a page, gets a dense id in first-touch
+// order. Use one or the other on a simulator.
+//
+// Usage: java AddressTranslationSimulator [addressFile text|binary 4k|2m|1g frames]
+public class AddressTranslationSimulator {
+    static final int PAGE_TABLE_LEVELS = 2;
+    static final int PTE_BYTES = 4;
+
+    private final ReplacementPolicy frames;
+    private final Tlb l1;
+    private final Tlb l2; // null for a single-level TLB
+    private final int tableBits;
+    private final double memoryNs;
+    private final double faultNs;
+
+    private final LongIntHashMap tables = new LongIntHashMap(64, 0); // directory index -> 1 once allocated
+    private LongIntHashMap idOf; // full page number -> frame policy id, for access(long)
+    private long[] vpnOf;
+    private long references;
+    private long walks;
+    private double totalNs;
+
+    public AddressTranslationSimulator(ReplacementPolicy frames, Tlb l1, Tlb l2, int tableBits,
+                                       double memoryNs, double faultNs) {
+        if (tableBits <= 0 || tableBits >= 31) {
+            throw new IllegalArgumentException("tableBits out of range: " + tableBits);
+        }
+        this.frames = frames;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.tableBits = tableBits;
+        this.memoryNs = memoryNs;
+        this.faultNs = faultNs;
+    }
+
+    // Translates and accesses one virtual page
+    public void access(int vpn) {
+        translate(vpn, vpn);
+    }
+
+    // Same for a page number wider than an int
+    public void access(long vpn) {
+        if (idOf == null) {
+            idOf = new LongIntHashMap(1024, -1);
+            vpnOf = new long[1024];
+        }
+        int id = idOf.get(vpn);
+        if (id < 0) {
+            id = idOf.size();
+            idOf.put(vpn, id);
+            if (id == vpnOf.length) vpnOf = Arrays.copyOf(vpnOf, id * 2);
+            vpnOf[id] = vpn;
+        }
+        translate(vpn, id);
+    }
+
+    // page is what the frame policy sees for vpn
+    private void translate(long vpn, int page) {
+        references++;
+        double ns = l1.latencyNs();
+        if (!l1.lookup(vpn)) {
+            boolean cached = false;
+            if (l2 != null) {
+                ns += l2.latencyNs();
+                cached = l2.lookup(vpn);
+            }
+            if (!cached) {
+                walks++;
+                ns += PAGE_TABLE_LEVELS * memoryNs;
+                tables.put(vpn >>> tableBits, 1);
+                if (l2 != null) l2.insert(vpn);
+            }
+            l1.insert(vpn);
+        }
+
+        if (!frames.access(page)) {
+            ns += faultNs;
+            int evicted = frames.lastEvicted();
+            if (evicted != ReplacementPolicy.NO_PAGE) {
+                long victim = idOf == null ? evicted : vpnOf[evicted];
+                l1.invalidate(victim);
+                if (l2 != null) l2.invalidate(victim);
+            }
+        }
+        totalNs += ns + memoryNs;
+    }
+
+    public double effectiveAccessNs() {
+        return references == 0 ? 0 : totalNs / references;
+    }
+
+    public void printResults() {
+        System.out.print(frames.name() + " -> Page Faults: " + frames.faults());
+        System.out.printf(", %s Hit Ratio: %.3f", l1.name(), l1.hitRatio());
+        if (l2 != null) System.out.printf(", %s Hit Ratio: %.3f", l2.name(), l2.hitRatio());
+        System.out.printf(", Page Walks: %d, Effective Access Time: %.1f ns\n", walks, effectiveAccessNs());
+        long tableBytes = (long) (tables.size() + 1) * (PTE_BYTES << tableBits);
+        System.out.printf("    Page Table: 1 directory + %d tables, %d KB\n", tables.size(), tableBytes / 1024);
+    }
+
+    // Replays a trace through FIFO, LRU and Optimal frames behind the same
+    // TLB configuration, once with an L2 TLB and once without
+    public static void main(String[] args) throws IOException {
+        if (args.length == 4) {
+            simulateAddresses(Paths.get(args[0]), AddressTraceReader.parseFormat(args[1]),
+                    AddressTraceReader.parsePageShift(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int[] ref = SyntheticTraces.zipfian(1_000_000, 20_000, 1.2, 11);
+        int frameCount = 8192;
+        double memoryNs = 100, faultNs = 100_000;
+        PolicyType[] policies = {PolicyType.FIFO, PolicyType.LRU, PolicyType.OPTIMAL};
+
+        System.out.println("Trace: " + ref.length + " references, " + frameCount + " frames, memory "
+                + memoryNs + " ns, fault " + faultNs + " ns");
+        for (Tlb.Replacement replacement : Tlb.Replacement.values()) {
+            for (boolean withL2 : new boolean[]{false, true}) {
+                System.out.println("\n--- L1 64 entries 4-way" + (withL2 ? " + L2 1024 entries 8-way" : "")
+                        + ", " + replacement + " ---");
+                for (PolicyType type : policies) {
+                    Tlb l1 = new Tlb("L1 TLB", 64, 4, replacement, 1);
+                    Tlb l2 = withL2 ? new Tlb("L2 TLB", 1024, 8, replacement, 7) : null;
+                    AddressTranslationSimulator sim = new AddressTranslationSimulator(
+                            type.create(frameCount, ref), l1, l2, 10, memoryNs, faultNs);
+                    for (int vpn : ref) sim.access(vpn);
+                    sim.printResults();
+                }
+            }
+        }
+    }
+
+    // Streams a virtual-address trace through every online policy, each behind
+    // its own L1 + L2 TLB, in one pass. Full page numbers are used (set
+    // indexes and page-table directories need the real ones), and repeats
+    // are not merged (a repeated page is a TLB hit that belongs in the timing).
+    static void simulateAddresses(Path path, AddressTraceReader.Format format, int pageShift, int frameCount)
+            throws IOException {
+        double memoryNs = 100, faultNs = 100_000;
+        List<AddressTranslationSimulator> sims = new ArrayList<>();
+        for (PolicyType type : PolicyType.values()) {
+            if (!type.isOnline()) continue;
+            sims.add(new AddressTranslationSimulator(type.create(frameCount, null, null),
+                    new Tlb("L1 TLB", 64, 4, Tlb.Replacement.LRU, 1),
+                    new Tlb("L2 TLB", 1024, 8, Tlb.Replacement.LRU, 7), 10, memoryNs, faultNs));
+        }
+        AddressTranslationSimulator[] all = sims.toArray(new AddressTranslationSimulator[0]);
+
+        try (AddressTraceReader trace = AddressTraceReader.open(path, format, pageShift, false, false)) {
+            trace.forEachPageNumber(vpn -> {
+                for (AddressTranslationSimulator sim : all) sim.access(vpn);
+            });
+            System.out.println("Address Trace: " + path + " (" + format + "), Page Size: " + (1L << pageShift)
+                    + " bytes, " + trace.addresses() + " references, " + frameCount + " frames");
+        }
+        System.out.println("--- L1 64 entries 4-way + L2 1024 entries 8-way, LRU ---");
+        for (AddressTranslationSimulator sim : all) sim.printResults();
+    }
+}
@@ -0,0 +1,107 @@
+// ARC, adaptive replacement cache (Megiddo and Modha, FAST 2003).
+// T1 holds pages seen once recently, T2 pages seen at least twice; B1 and
+// B2 are ghost lists remembering pages recently evicted from each. A hit
+// in a ghost list shifts the target size p of T1 towards the side that
+// would have kept the page, so a long scan only churns T1 while the
+// frequently used pages in T2 survive.
+public class ArcReplacement implements ReplacementPolicy {
+    private static final int T1 = 0, T2 = 1, B1 = 2, B2 = 3;
+
+    private final int frames;
+    private final IntIntHashMap nodeOf; // page -> node, resident or ghost
+    private final IntLinkedLists lists;
+    private int p; // target size of T1
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public ArcReplacement(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        this.nodeOf = new IntIntHashMap(2 * frames + 1, IntLinkedLists.NIL);
+        this.lists = new IntLinkedLists(2 * frames + 1, 4);
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int node = nodeOf.get(page);
+        if (node != IntLinkedLists.NIL) {
+            int list = lists.listOf(node);
+            if (list == T1 || list == T2) {
+                lists.moveToFront(T2, node);
+                return true;
+            }
+
+            faults++;
+            int b1 = lists.size(B1), b2 = lists.size(B2);
+            if (list == B1) {
+                p = Math.min(frames, p + Math.max(b2 / b1, 1));
+            } else {
+                p = Math.max(0, p - Math.max(b1 / b2, 1));
+            }
+            replace(list == B2);
+            lists.moveToFront(T2, node);
+            return false;
+        }
+
+        faults++;
+        int t1 = lists.size(T1);
+        int l1 = t1 + lists.size(B1);
+        int total = l1 + lists.size(T2) + lists.size(B2);
+        if (l1 == frames) {
+            if (t1 < frames) {
+                discard(lists.last(B1));
+                replace(false);
+            } else {
+                evicted = lists.page(lists.last(T1));
+                discard(lists.last(T1));
+            }
+        } else if (total >= frames) {
+            if (total == 2 * frames) {
+                discard(lists.last(B2));
+            }
+            replace(false);
+        }
+        node = lists.allocate(page);
+        nodeOf.put(page, node);
+        lists.pushFront(T1, node);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "ARC";
+    }
+
+    // Evicts the LRU page of T1 or T2 into the matching ghost list
+    private void replace(boolean hitInB2) {
+        int t1 = lists.size(T1);
+        int victim;
+        if (t1 > 0 && (t1 > p || (hitInB2 && t1 == p))) {
+            victim = lists.last(T1);
+            lists.moveToFront(B1, victim);
+        } else {
+            victim = lists.last(T2);
+            lists.moveToFront(B2, victim);
+        }
+        evicted = lists.page(victim);
+    }
+
+    // Forgets a page entirely
+    private void discard(int node) {
+        nodeOf.remove(lists.page(node));
+        lists.free(node);
+    }
+}
@@ -0,0 +1,229 @@
+// CLOCK-Pro page replacement (Jiang, Chen and Zhang, USENIX 2005).
+// Resident pages are hot or cold. A newly loaded cold page starts a test
+// period, and if it is evicted before that ends its entry stays on the
+// clock as a non-resident "test" entry. A test page that is referenced
+// again proves a short reuse distance: it comes back hot and the cold
+// allocation grows. A test entry that expires unreferenced shrinks it.
+// Three hands sweep one ring:
+//   hand cold - promotes referenced cold pages and evicts the rest
+//   hand hot  - demotes unreferenced hot pages, ending test periods it passes
+//   hand test - expires the oldest test entries
+// Pages keep their ring position when their status changes, and entries
+// live in a fixed pool of parallel arrays (at most 2 * frames + 1), so a
+// reference never allocates.
+public class ClockProReplacement implements ReplacementPolicy {
+    private static final int NIL = -1;
+    private static final byte HOT = 0, COLD = 1, TEST = 2;
+
+    private final int frames;
+    private final IntIntHashMap entryOf; // page -> entry, resident or test
+    private final int[] pageOf;
+    private final byte[] type;
+    private final boolean[] referenced;
+    private final boolean[] inTest;      // cold resident page still in its test period
+    private final int[] next;
+    private final int[] prev;
+    private int freeList;
+
+    private int handHot = NIL, handCold = NIL, handTest = NIL;
+    private int countHot, countCold, countTest;
+    private int coldTarget = 1; // adaptive share of frames for cold pages, 1..frames
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public ClockProReplacement(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        int capacity = 2 * frames + 1;
+        this.entryOf = new IntIntHashMap(capacity, NIL);
+        this.pageOf = new int[capacity];
+        this.type = new byte[capacity];
+        this.referenced = new boolean[capacity];
+        this.inTest = new boolean[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NIL;
+        }
+        this.freeList = 0;
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int e = entryOf.get(page);
+        if (e != NIL && type[e] != TEST) {
+            referenced[e] = true;
+            return true;
+        }
+
+        faults++;
+        if (e != NIL) {
+            // re-referenced during its test period: give cold pages more room
+            if (coldTarget < frames) coldTarget++;
+            unlink(e);
+            countTest--;
+            makeRoom();
+            type[e] = HOT;
+            countHot++;
+        } else {
+            makeRoom();
+            e = freeList;
+            freeList = next[e];
+            pageOf[e] = page;
+            entryOf.put(page, e);
+            type[e] = COLD;
+            inTest[e] = true;
+            countCold++;
+        }
+        referenced[e] = false;
+        linkAtHead(e);
+        while (countHot > frames - coldTarget) {
+            runHandHot();
+        }
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "CLOCK-PRO";
+    }
+
+    private void makeRoom() {
+        if (countHot + countCold == frames) {
+            runHandCold();
+        }
+    }
+
+    // Sweeps until one resident cold page has been evicted
+    private void runHandCold() {
+        while (true) {
+            int e = handCold;
+            handCold = next[e];
+            if (type[e] != COLD) continue;
+
+            if (referenced[e]) {
+                referenced[e] = false;
+                if (inTest[e]) {
+                    type[e] = HOT;
+                    countCold--;
+                    countHot++;
+                    while (countHot > frames - coldTarget) {
+                        runHandHot();
+                    }
+                } else {
+                    inTest[e] = true;
+                }
+                continue;
+            }
+
+            countCold--;
+            evicted = pageOf[e];
+            if (inTest[e]) {
+                type[e] = TEST;
+                countTest++;
+                if (countTest > frames) {
+                    runHandTest();
+                }
+            } else {
+                remove(e);
+            }
+            return;
+        }
+    }
+
+    // Sweeps until one hot page has been demoted to cold
+    private void runHandHot() {
+        while (true) {
+            int e = handHot;
+            handHot = next[e];
+            if (type[e] == HOT) {
+                if (referenced[e]) {
+                    referenced[e] = false;
+                    continue;
+                }
+                type[e] = COLD;
+                inTest[e] = false;
+                countHot--;
+                countCold++;
+                return;
+            }
+            if (type[e] == TEST) {
+                expire(e);
+            } else {
+                inTest[e] = false;
+            }
+        }
+    }
+
+    // Sweeps until one test entry has expired
+    private void runHandTest() {
+        while (true) {
+            int e = handTest;
+            handTest = next[e];
+            if (type[e] == TEST) {
+                expire(e);
+                return;
+            }
+            if (type[e] == COLD) {
+                inTest[e] = false;
+            }
+        }
+    }
+
+    // Test period over without a reuse: shrink the cold share
+    private void expire(int e) {
+        countTest--;
+        if (coldTarget > 1) coldTarget--;
+        remove(e);
+    }
+
+    // Drops an entry from the ring and returns it to the pool
+    private void remove(int e) {
+        unlink(e);
+        entryOf.remove(pageOf[e]);
+        next[e] = freeList;
+        freeList = e;
+    }
+
+    // New entries go just behind hand hot, the last place it will reach
+    private void linkAtHead(int e) {
+        if (handHot == NIL) {
+            next[e] = e;
+            prev[e] = e;
+            handHot = handCold = handTest = e;
+            return;
+        }
+        int p = prev[handHot];
+        next[p] = e;
+        prev[e] = p;
+        next[e] = handHot;
+        prev[handHot] = e;
+    }
+
+    private void unlink(int e) {
+        int n = next[e];
+        if (n == e) {
+            handHot = handCold = handTest = NIL;
+            return;
+        }
+        if (handHot == e) handHot = n;
+        if (handCold == e) handCold = n;
+        if (handTest == e) handTest = n;
+        int p = prev[e];
+        next[p] = n;
+        prev[n] = p;
+    }
+}
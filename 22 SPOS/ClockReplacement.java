@@ -0,0 +1,66 @@
+// CLOCK (second chance) page replacement.
+// Frames form a ring swept by a hand; a page whose reference bit is set
+// gets its bit cleared and is skipped once before it can be evicted.
+public class ClockReplacement implements ReplacementPolicy {
+    private final int frames;
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private final boolean[] referenced;
+    private int used;
+    private int hand;
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public ClockReplacement(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        this.slotOf = new IntIntHashMap(frames, -1);
+        this.pageAt = new int[frames];
+        this.referenced = new boolean[frames];
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int slot = slotOf.get(page);
+        if (slot >= 0) {
+            referenced[slot] = true;
+            return true;
+        }
+
+        faults++;
+        if (used < frames) {
+            slot = used++;
+        } else {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1 == frames) ? 0 : hand + 1;
+            }
+            slot = hand;
+            hand = (hand + 1 == frames) ? 0 : hand + 1;
+            evicted = pageAt[slot];
+            slotOf.remove(evicted);
+        }
+        pageAt[slot] = page;
+        referenced[slot] = true;
+        slotOf.put(page, slot);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "CLOCK";
+    }
+}
@@ -0,0 +1,106 @@
+// Enhanced second chance (NRU over reference + dirty bits).
+// The hand prefers victims in class order (ref, dirty):
+//   (0,0) not used, clean   -> evict without a write-back
+//   (0,1) not used, dirty   -> evict, page has to be written back
+//   (1,0) / (1,1)           -> lose their reference bit and get another lap
+// The first lap looks for (0,0) without touching any bits, the second for
+// (0,1) while clearing reference bits, and the two laps repeat until a
+// victim turns up (at most four laps in total).
+public class EnhancedSecondChance implements ReplacementPolicy {
+    private final int frames;
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private final boolean[] referenced;
+    private final boolean[] dirty;
+    private int used;
+    private int hand;
+    private long faults;
+    private int evicted = NO_PAGE;
+    private long writeBacks;
+
+    public EnhancedSecondChance(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        this.slotOf = new IntIntHashMap(frames, -1);
+        this.pageAt = new int[frames];
+        this.referenced = new boolean[frames];
+        this.dirty = new boolean[frames];
+    }
+
+    // Read access
+    @Override
+    public boolean access(int page) {
+        return access(page, false);
+    }
+
+    // Returns true on a hit; a write marks the page dirty
+    public boolean access(int page, boolean write) {
+        evicted = NO_PAGE;
+        int slot = slotOf.get(page);
+        if (slot >= 0) {
+            referenced[slot] = true;
+            if (write) dirty[slot] = true;
+            return true;
+        }
+
+        faults++;
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = findVictim();
+            if (dirty[slot]) writeBacks++;
+            evicted = pageAt[slot];
+            slotOf.remove(evicted);
+        }
+        pageAt[slot] = page;
+        referenced[slot] = true;
+        dirty[slot] = write;
+        slotOf.put(page, slot);
+        return false;
+    }
+
+    private int findVictim() {
+        while (true) {
+            // lap 1: (0,0), bits untouched
+            for (int i = 0; i < frames; i++) {
+                int slot = advance();
+                if (!referenced[slot] && !dirty[slot]) return slot;
+            }
+            // lap 2: (0,1), clearing reference bits on the way
+            for (int i = 0; i < frames; i++) {
+                int slot = advance();
+                if (!referenced[slot]) return slot;
+                referenced[slot] = false;
+            }
+        }
+    }
+
+    // Returns the slot under the hand and moves the hand past it
+    private int advance() {
+        int slot = hand;
+        hand = (hand + 1 == frames) ? 0 : hand + 1;
+        return slot;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "SECOND CHANCE";
+    }
+
+    // Dirty pages that had to be written back when evicted
+    public long writeBacks() {
+        return writeBacks;
+    }
+}
@@ -0,0 +1,58 @@
+// FIFO page replacement on primitive arrays.
+// Frames are filled in slot order and then reused in the same circular
+// order, so the hand always points at the oldest resident page.
+public class FifoReplacement implements ReplacementPolicy {
+    private final int frames;
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private int used;
+    private int hand;
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public FifoReplacement(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        this.slotOf = new IntIntHashMap(frames, -1);
+        this.pageAt = new int[frames];
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        if (slotOf.containsKey(page)) {
+            return true;
+        }
+
+        faults++;
+        int slot;
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = hand;
+            hand = (hand + 1 == frames) ? 0 : hand + 1;
+            evicted = pageAt[slot];
+            slotOf.remove(evicted);
+        }
+        pageAt[slot] = page;
+        slotOf.put(page, slot);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "FIFO";
+    }
+}
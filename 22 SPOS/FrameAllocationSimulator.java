@@ -0,0 +1,225 @@
+import java.util.*;
+
+// Multi-process memory simulator with a global pool of frames that are
+// handed out dynamically, driven by an interleaved trace of (process, page)
+// references.
+//
+// Each process keeps its resident pages on its own LRU list, timestamped
+// in that process's virtual time (its own reference count). Allocation:
+//   FIXED       - every process gets frames / processes frames, local LRU
+//   WORKING_SET - a process holds exactly the pages it referenced in its
+//                 last delta references; older pages return to the pool
+//   PFF         - page-fault frequency: a fault coming sooner than
+//                 `lower` references after the previous one grows the
+//                 allocation, one coming later than `upper` first releases
+//                 every page not referenced since the previous fault, and
+//                 in between the process replaces its own LRU page
+// When a process needs a frame and the pool is empty, the LRU page of the
+// process holding the most frames is stolen.
+//
+// Thrashing is watched over a sliding window of global references: an
+// episode starts when the window's fault rate reaches thrashRate and ends
+// when it drops below.
+public class FrameAllocationSimulator {
+
+    enum Mode { FIXED, WORKING_SET, PFF }
+
+    private final Mode mode;
+    private final int processes;
+    private final int totalFrames;
+    private final int delta;
+    private final int lower, upper;
+
+    private final IntLinkedLists frames;       // each frame sits on its owner's LRU list
+    private final IntIntHashMap[] residentOf;  // per process: page -> frame
+    private final long[] lastUse;              // frame -> owner's virtual time of last use
+    private final long[] clock;                // per process virtual time
+    private final long[] lastFault;
+    private final long[] faultsOf;
+    private int freeFrames;
+    private long faults;
+    private long steals;
+
+    private final boolean[] window;
+    private final double thrashRate;
+    private int windowPos, windowFaults;
+    private boolean thrashing;
+    private long thrashingEpisodes;
+    private long thrashingReferences;
+    private long references;
+
+    // delta is the working-set window, lower/upper the PFF inter-fault thresholds
+    public FrameAllocationSimulator(Mode mode, int processes, int totalFrames, int delta, int lower, int upper,
+                                    int thrashWindow, double thrashRate) {
+        if (processes <= 0 || totalFrames < processes) {
+            throw new IllegalArgumentException("need at least one frame per process");
+        }
+        if (thrashWindow <= 0) {
+            throw new IllegalArgumentException("thrashWindow must be positive: " + thrashWindow);
+        }
+        if (!(thrashRate > 0 && thrashRate <= 1)) {
+            throw new IllegalArgumentException("thrashRate must be in (0, 1]: " + thrashRate);
+        }
+        this.mode = mode;
+        this.processes = processes;
+        this.totalFrames = totalFrames;
+        this.delta = delta;
+        this.lower = lower;
+        this.upper = upper;
+        this.frames = new IntLinkedLists(totalFrames, processes);
+        this.residentOf = new IntIntHashMap[processes];
+        for (int p = 0; p < processes; p++) {
+            residentOf[p] = new IntIntHashMap(16, IntLinkedLists.NIL);
+        }
+        this.lastUse = new long[totalFrames];
+        this.clock = new long[processes];
+        this.lastFault = new long[processes];
+        this.faultsOf = new long[processes];
+        this.freeFrames = totalFrames;
+        this.window = new boolean[thrashWindow];
+        this.thrashRate = thrashRate;
+    }
+
+    // Returns true on a hit
+    public boolean access(int process, int page) {
+        long now = ++clock[process];
+        references++;
+        if (mode == Mode.WORKING_SET) {
+            releaseUnusedSince(process, now - delta);
+        }
+
+        int frame = residentOf[process].get(page);
+        boolean hit = frame != IntLinkedLists.NIL;
+        if (hit) {
+            frames.moveToFront(process, frame);
+        } else {
+            faults++;
+            faultsOf[process]++;
+            makeRoom(process, now);
+            freeFrames--;
+            frame = frames.allocate(page);
+            lastFault[process] = now;
+            residentOf[process].put(page, frame);
+            frames.pushFront(process, frame);
+        }
+        lastUse[frame] = now;
+        watchThrashing(!hit);
+        return hit;
+    }
+
+    // Makes sure the pool has a frame for the faulting process, according to the mode
+    private void makeRoom(int process, long now) {
+        switch (mode) {
+            case FIXED:
+                if (frames.size(process) >= totalFrames / processes) {
+                    release(process, frames.last(process));
+                }
+                break;
+            case PFF: {
+                long interval = now - lastFault[process];
+                if (interval > upper) {
+                    releaseUnusedSince(process, lastFault[process]);
+                } else if (interval >= lower && frames.size(process) > 0) {
+                    // fault rate within bounds: keep the allocation, replace locally
+                    release(process, frames.last(process));
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        if (freeFrames == 0) {
+            // pool exhausted: steal from the process holding the most frames
+            int victim = 0;
+            for (int p = 1; p < processes; p++) {
+                if (frames.size(p) > frames.size(victim)) victim = p;
+            }
+            steals++;
+            release(victim, frames.last(victim));
+        }
+    }
+
+    // Returns every page of the process last used at or before cutoff to the pool
+    private void releaseUnusedSince(int process, long cutoff) {
+        int frame = frames.last(process);
+        while (frame != IntLinkedLists.NIL && lastUse[frame] <= cutoff) {
+            release(process, frame);
+            frame = frames.last(process);
+        }
+    }
+
+    private void release(int process, int frame) {
+        residentOf[process].remove(frames.page(frame));
+        frames.free(frame);
+        freeFrames++;
+    }
+
+    private void watchThrashing(boolean fault) {
+        if (window[windowPos]) windowFaults--;
+        window[windowPos] = fault;
+        if (fault) windowFaults++;
+        windowPos = (windowPos + 1) % window.length;
+
+        boolean nowThrashing = references >= window.length && windowFaults >= thrashRate * window.length;
+        if (nowThrashing && !thrashing) thrashingEpisodes++;
+        if (nowThrashing) thrashingReferences++;
+        thrashing = nowThrashing;
+    }
+
+    void printResults() {
+        System.out.println("Mode: " + mode);
+        System.out.println("PID\tFaults\tResident");
+        for (int p = 0; p < processes; p++) {
+            System.out.printf("P%d\t%d\t%d\n", p, faultsOf[p], frames.size(p));
+        }
+        System.out.printf("Total Page Faults: %d, Fault Rate: %.3f, Frames Stolen: %d\n",
+                faults, faults / (double) references, steals);
+        System.out.printf("Thrashing Episodes: %d, References While Thrashing: %d (%.1f%%)\n",
+                thrashingEpisodes, thrashingReferences, 100.0 * thrashingReferences / references);
+    }
+
+    public static void main(String[] args) {
+        int totalFrames = 200;
+        // 4 processes fit in 200 frames; 8 need more than there is
+        for (int processes : new int[]{4, 8}) {
+            int[][] trace = interleavedTrace(processes, 400_000, 50, 11);
+            System.out.println("\n===== " + processes + " Processes, " + totalFrames + " Frames =====");
+            for (Mode mode : Mode.values()) {
+                FrameAllocationSimulator sim = new FrameAllocationSimulator(mode, processes, totalFrames,
+                        200, 10, 100, 1000, 0.3);
+                for (int i = 0; i < trace[0].length; i++) {
+                    sim.access(trace[0][i], trace[1][i]);
+                }
+                System.out.println();
+                sim.printResults();
+            }
+        }
+    }
+
+    // {process, page} columns. Each process moves through phases with
+    // working sets of different sizes; the processes take turns in slices
+    // of `slice` references, like a round-robin scheduler would run them.
+    static int[][] interleavedTrace(int processes, int length, int slice, long seed) {
+        Random random = new Random(seed);
+        int[] pid = new int[length];
+        int[] page = new int[length];
+        int[] base = new int[processes];
+        int[] size = new int[processes];
+        int[] phaseLeft = new int[processes];
+        int i = 0;
+        while (i < length) {
+            for (int p = 0; p < processes && i < length; p++) {
+                for (int k = 0; k < slice && i < length; k++, i++) {
+                    if (phaseLeft[p]-- <= 0) {
+                        base[p] = random.nextInt(10_000);
+                        size[p] = 10 + random.nextInt(50);
+                        phaseLeft[p] = 5_000 + random.nextInt(20_000);
+                    }
+                    pid[i] = p;
+                    page[i] = base[p] + random.nextInt(size[p]);
+                }
+            }
+        }
+        return new int[][]{pid, page};
+    }
+}
@@ -0,0 +1,106 @@
+// Binary max-heap over slot numbers 0..capacity-1 with a position index,
+// so the key of a slot already in the heap can be changed in O(log n).
+public class IndexedMaxHeap {
+    private final int[] heap;  // heap position -> slot
+    private final int[] pos;   // slot -> heap position, -1 when absent
+    private final long[] keys; // slot -> key
+    private int size;
+
+    public IndexedMaxHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new long[capacity];
+        java.util.Arrays.fill(pos, -1);
+    }
+
+    public void push(int slot, long key) {
+        keys[slot] = key;
+        heap[size] = slot;
+        pos[slot] = size;
+        siftUp(size++);
+    }
+
+    public void update(int slot, long key) {
+        long old = keys[slot];
+        keys[slot] = key;
+        if (key > old) siftUp(pos[slot]);
+        else if (key < old) siftDown(pos[slot]);
+    }
+
+    // Slot with the largest key
+    public int peek() {
+        return heap[0];
+    }
+
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int slot) {
+        int i = pos[slot];
+        int last = heap[--size];
+        pos[slot] = -1;
+        if (i == size) return;
+        heap[i] = last;
+        pos[last] = i;
+        siftUp(i);
+        siftDown(pos[last]);
+    }
+
+    public boolean contains(int slot) {
+        return pos[slot] >= 0;
+    }
+
+    public long key(int slot) {
+        return keys[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int slot = heap[i];
+        long key = keys[slot];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] >= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = slot;
+        pos[slot] = i;
+    }
+
+    private void siftDown(int i) {
+        int slot = heap[i];
+        long key = keys[slot];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && keys[heap[right]] > keys[c]) {
+                child = right;
+                c = heap[child];
+            }
+            if (key >= keys[c]) break;
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = slot;
+        pos[slot] = i;
+    }
+}
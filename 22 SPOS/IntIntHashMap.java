@@ -0,0 +1,137 @@
+import java.util.*;
+
+// Open addressing int -> int map (linear probing) so page lookups
+// don't box every reference into an Integer.
+// Integer.MIN_VALUE is reserved as the empty slot marker.
+public class IntIntHashMap {
+    static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private final int missing;
+
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        int capacity = 8;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        this.missing = missingValue;
+    }
+
+    public int get(int key) {
+        int i = mix(key) & mask;
+        while (true) {
+            int k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return missing;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        int i = mix(key) & mask;
+        while (true) {
+            int k = keys[i];
+            if (k == key) return true;
+            if (k == EMPTY) return false;
+            i = (i + 1) & mask;
+        }
+    }
+
+    // Returns the previous value, or the missing value if the key was absent
+    public int put(int key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key " + EMPTY + " is reserved");
+        }
+        int i = mix(key) & mask;
+        while (true) {
+            int k = keys[i];
+            if (k == key) {
+                int old = values[i];
+                values[i] = value;
+                return old;
+            }
+            if (k == EMPTY) break;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return missing;
+    }
+
+    // Returns the removed value, or the missing value if the key was absent
+    public int remove(int key) {
+        int i = mix(key) & mask;
+        while (true) {
+            int k = keys[i];
+            if (k == EMPTY) return missing;
+            if (k == key) break;
+            i = (i + 1) & mask;
+        }
+        int old = values[i];
+        size--;
+
+        // backward shift deletion keeps probe chains intact without tombstones
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = keys[j];
+            if (k == EMPTY) break;
+            int home = mix(k) & mask;
+            // move k into the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        resizeAt = capacity * 3 / 4;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k == EMPTY) continue;
+            int j = mix(k) & mask;
+            while (keys[j] != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = k;
+            values[j] = oldValues[i];
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
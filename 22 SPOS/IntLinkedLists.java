@@ -0,0 +1,97 @@
+// A fixed pool of nodes threaded onto several doubly linked lists, all in
+// parallel int arrays. Each node carries one page and sits on at most one
+// list at a time, so moving a page between lists (resident to ghost, one
+// queue to another) is O(1) and allocates nothing.
+public class IntLinkedLists {
+    static final int NIL = -1;
+
+    private final int[] pageOf;
+    private final int[] listOf;
+    private final int[] prev;
+    private final int[] next;
+    private final int[] head;
+    private final int[] tail;
+    private final int[] size;
+    private int freeList;
+
+    public IntLinkedLists(int nodes, int lists) {
+        pageOf = new int[nodes];
+        listOf = new int[nodes];
+        prev = new int[nodes];
+        next = new int[nodes];
+        head = new int[lists];
+        tail = new int[lists];
+        size = new int[lists];
+        java.util.Arrays.fill(head, NIL);
+        java.util.Arrays.fill(tail, NIL);
+        for (int i = 0; i < nodes; i++) {
+            next[i] = i + 1 < nodes ? i + 1 : NIL;
+            listOf[i] = NIL;
+        }
+        freeList = nodes > 0 ? 0 : NIL;
+    }
+
+    // Takes a node from the pool for the page; it is not on any list yet
+    public int allocate(int page) {
+        int node = freeList;
+        if (node == NIL) {
+            throw new IllegalStateException("Node pool exhausted");
+        }
+        freeList = next[node];
+        pageOf[node] = page;
+        listOf[node] = NIL;
+        return node;
+    }
+
+    // Unlinks the node if needed and returns it to the pool
+    public void free(int node) {
+        if (listOf[node] != NIL) unlink(node);
+        next[node] = freeList;
+        freeList = node;
+    }
+
+    public void pushFront(int list, int node) {
+        listOf[node] = list;
+        prev[node] = NIL;
+        next[node] = head[list];
+        if (head[list] != NIL) prev[head[list]] = node; else tail[list] = node;
+        head[list] = node;
+        size[list]++;
+    }
+
+    public void unlink(int node) {
+        int list = listOf[node];
+        int p = prev[node], n = next[node];
+        if (p != NIL) next[p] = n; else head[list] = n;
+        if (n != NIL) prev[n] = p; else tail[list] = p;
+        listOf[node] = NIL;
+        size[list]--;
+    }
+
+    // Moves the node, from whatever list it is on, to the front of list
+    public void moveToFront(int list, int node) {
+        if (listOf[node] == list && head[list] == node) return;
+        if (listOf[node] != NIL) unlink(node);
+        pushFront(list, node);
+    }
+
+    public int page(int node) {
+        return pageOf[node];
+    }
+
+    public int listOf(int node) {
+        return listOf[node];
+    }
+
+    public int first(int list) {
+        return head[list];
+    }
+
+    public int last(int list) {
+        return tail[list];
+    }
+
+    public int size(int list) {
+        return size[list];
+    }
+}
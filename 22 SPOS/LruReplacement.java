@@ -0,0 +1,86 @@
+// LRU page replacement with O(1) hits and faults.
+// Frames are slots in parallel int arrays linked into a recency list
+// (head = most recently used, tail = victim), and pages find their slot
+// through an int-keyed open addressing map, so nothing is boxed and
+// nothing is allocated per reference.
+public class LruReplacement implements ReplacementPolicy {
+    private static final int NIL = -1;
+
+    private final int frames;
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private final int[] prev;
+    private final int[] next;
+    private int head = NIL;
+    private int tail = NIL;
+    private int used;
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public LruReplacement(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.frames = frames;
+        this.slotOf = new IntIntHashMap(frames, NIL);
+        this.pageAt = new int[frames];
+        this.prev = new int[frames];
+        this.next = new int[frames];
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int slot = slotOf.get(page);
+        if (slot != NIL) {
+            if (slot != head) {
+                unlink(slot);
+                linkFirst(slot);
+            }
+            return true;
+        }
+
+        faults++;
+        if (used < frames) {
+            slot = used++;
+        } else {
+            // reuse the least recently used frame
+            slot = tail;
+            unlink(slot);
+            evicted = pageAt[slot];
+            slotOf.remove(evicted);
+        }
+        pageAt[slot] = page;
+        slotOf.put(page, slot);
+        linkFirst(slot);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "LRU";
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot], n = next[slot];
+        if (p != NIL) next[p] = n; else head = n;
+        if (n != NIL) prev[n] = p; else tail = p;
+    }
+
+    private void linkFirst(int slot) {
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head != NIL) prev[head] = slot; else tail = slot;
+        head = slot;
+    }
+}
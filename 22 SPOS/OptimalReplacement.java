@@ -0,0 +1,103 @@
+import java.nio.*;
+
+// Optimal (Belady) page replacement in O(n log frames).
+// One backward pass records where each reference is next used, and the
+// resident pages sit in a max-heap keyed by that next use, so the victim
+// is always at the top instead of being found by rescanning the future.
+// The reference string may be a heap array or a memory-mapped trace.
+public class OptimalReplacement implements ReplacementPolicy {
+    private final IntBuffer ref;
+    private final int[] next;
+    private final int frames;
+
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private final IndexedMaxHeap byNextUse;
+    private int used;
+    private int cursor;
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public OptimalReplacement(int[] ref, int frames) {
+        this(IntBuffer.wrap(ref), frames);
+    }
+
+    public OptimalReplacement(IntBuffer ref, int frames) {
+        this(ref, nextUse(ref), frames);
+    }
+
+    // next[] can be shared between runs over the same reference string
+    public OptimalReplacement(IntBuffer ref, int[] next, int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive: " + frames);
+        }
+        this.ref = ref;
+        this.next = next;
+        this.frames = frames;
+        this.slotOf = new IntIntHashMap(frames, -1);
+        this.pageAt = new int[frames];
+        this.byNextUse = new IndexedMaxHeap(frames);
+    }
+
+    // next[i] = index of the next reference to ref[i], or ref.length if none
+    public static int[] nextUse(int[] ref) {
+        return nextUse(IntBuffer.wrap(ref));
+    }
+
+    // next[i] = index of the next reference to ref.get(i), or ref.limit() if none
+    public static int[] nextUse(IntBuffer ref) {
+        int n = ref.limit();
+        int[] next = new int[n];
+        IntIntHashMap seenAt = new IntIntHashMap(1024, n);
+        for (int i = n - 1; i >= 0; i--) {
+            next[i] = seenAt.put(ref.get(i), i);
+        }
+        return next;
+    }
+
+    // Replays the next reference
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int i = cursor;
+        if (i >= ref.limit() || ref.get(i) != page) {
+            throw new IllegalArgumentException("Optimal replacement must replay its reference string in order");
+        }
+        cursor++;
+
+        int slot = slotOf.get(page);
+        if (slot >= 0) {
+            byNextUse.update(slot, next[i]);
+            return true;
+        }
+
+        faults++;
+        if (used < frames) {
+            slot = used++;
+        } else {
+            // evict the page whose next use is farthest away
+            slot = byNextUse.poll();
+            evicted = pageAt[slot];
+            slotOf.remove(evicted);
+        }
+        pageAt[slot] = page;
+        slotOf.put(page, slot);
+        byNextUse.push(slot, next[i]);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "OPTIMAL";
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class PageReplacementSimulator {
+
+    // Usage: java PageReplacementSimulator [traceFile int32|int64|varint frames]
+    //        java PageReplacementSimulator traceFile int32 minFrames maxFrames   (parallel sweep)
+    //        java PageReplacementSimulator addressFile text|binary 4k|2m|1g frames [renumber]
+    //        (renumber maps page numbers wider than an int to dense ids)
+    public static void main(String[] args) throws IOException {
+        if ((args.length == 4 || args.length == 5) && (args[1].equalsIgnoreCase("text") || args[1].equalsIgnoreCase("binary"))) {
+            boolean renumber = args.length == 5 && args[4].equalsIgnoreCase("renumber");
+            if (args.length == 5 && !renumber) {
+                throw new IllegalArgumentException("Unknown option: " + args[4]);
+            }
+            simulateAddresses(Paths.get(args[0]), AddressTraceReader.parseFormat(args[1]),
+                    AddressTraceReader.parsePageShift(args[2]), Integer.parseInt(args[3]), renumber);
+            return;
+        }
+        if (args.length == 4) {
+            sweepTrace(Paths.get(args[0]), TraceReader.parseFormat(args[1]),
+                    Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        if (args.length == 3) {
+            simulateTrace(Paths.get(args[0]), TraceReader.parseFormat(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+
+        int[] referenceString = {2, 3, 2, 1, 5, 2, 4, 5, 3, 2, 5, 2};
+        int frames = 3;
+
+        System.out.println("Reference String: " + Arrays.toString(referenceString));
+        for (PolicyType type : PolicyType.values()) {
+            ReplacementPolicy policy = type.create(frames, referenceString);
+            System.out.println("\n--- " + policy.name() + " ---");
+            System.out.println(simulate(policy, referenceString));
+        }
+
+        System.out.println("\n--- FIFO and OPTIMAL, Reference by Reference ---");
+        printTable(new FifoReplacement(frames), referenceString);
+        printTable(new OptimalReplacement(referenceString, frames), referenceString);
+
+        System.out.println("\n--- SECOND CHANCE WITH WRITES ---");
+        // every third reference is a write, so some victims need a write-back
+        EnhancedSecondChance esc = new EnhancedSecondChance(frames);
+        for (int i = 0; i < referenceString.length; i++) esc.access(referenceString[i], i % 3 == 0);
+        System.out.println(new SimulationResult(esc.name(), referenceString.length, esc.faults()));
+        System.out.println("Write-backs: " + esc.writeBacks());
+
+        System.out.println("\n--- LRU Faults for Every Frame Count ---");
+        printCurve(referenceString.length, StackDistance.lruFaultCurve(referenceString));
+
+        System.out.println("\n--- Parallel Sweep ---");
+        PolicyType[] policies = PolicyType.values();
+        int[] frameSizes = ReplacementSweep.frameRange(1, 5);
+        ReplacementSweep.printMatrix(policies, frameSizes,
+                ReplacementSweep.run(IntBuffer.wrap(referenceString), policies, frameSizes));
+
+        compareOnScans();
+        streamDemo();
+    }
+
+    // Runs a policy over every page of the reference string
+    public static SimulationResult simulate(ReplacementPolicy policy, int[] ref) {
+        for (int page : ref) {
+            policy.access(page);
+        }
+        return new SimulationResult(policy.name(), ref.length, policy.faults());
+    }
+
+    // Same over a buffer, read with absolute gets so it can be shared between threads
+    public static SimulationResult simulate(ReplacementPolicy policy, IntBuffer ref) {
+        int n = ref.limit();
+        for (int i = 0; i < n; i++) {
+            policy.access(ref.get(i));
+        }
+        return new SimulationResult(policy.name(), n, policy.faults());
+    }
+
+    // Runs several policies side by side in one pass over a trace file
+    public static List<SimulationResult> simulate(List<ReplacementPolicy> policies, TraceReader trace) throws IOException {
+        long[] total = new long[1];
+        ReplacementPolicy[] all = policies.toArray(new ReplacementPolicy[0]);
+        trace.forEach(page -> {
+            total[0]++;
+            for (ReplacementPolicy policy : all) policy.access(page);
+        });
+        List<SimulationResult> results = new ArrayList<>();
+        for (ReplacementPolicy policy : all) {
+            results.add(new SimulationResult(policy.name(), total[0], policy.faults()));
+        }
+        return results;
+    }
+
+    // Records every reference in an off-heap log and renders the table afterwards
+    static void printTable(ReplacementPolicy policy, int[] ref) throws IOException {
+        try (ReferenceLog log = ReferenceLog.inMemory(ref.length)) {
+            for (int page : ref) log.access(policy, page);
+            System.out.println(policy.name() + ":");
+            log.render(System.out);
+            System.out.println("Total Page Faults (" + policy.name() + "): " + log.faults());
+        }
+    }
+
+    // Pushes a stream through FIFO, LRU and windowed Optimal one page at a
+    // time, printing running fault counts every 50000 references
+    static void streamDemo() {
+        int frames = 500;
+        long interval = 50_000;
+        System.out.println("\n--- Streaming (" + frames + " frames) ---");
+        StreamingSimulator[] sims = {
+                new StreamingSimulator(new FifoReplacement(frames), interval),
+                new StreamingSimulator(new LruReplacement(frames), interval),
+                new WindowedOptimal(frames, 1000, interval)
+        };
+        for (int page : SyntheticTraces.scanHeavy(200_000, 400, 1000, 300, 7)) {
+            for (StreamingSimulator sim : sims) sim.accept(page);
+        }
+        for (StreamingSimulator sim : sims) sim.flush();
+    }
+
+    // Scan-resistant policies against LRU: a 400-page hot set with a
+    // 300-page sequential scan after every 1000 hot references
+    static void compareOnScans() {
+        int[] ref = SyntheticTraces.scanHeavy(300_000, 400, 1000, 300, 42);
+        int frames = 500;
+        System.out.println("\n--- Scan-Heavy Trace (" + ref.length + " references, " + frames + " frames) ---");
+
+        SimulationResult lru = simulate(new LruReplacement(frames), ref);
+        SimulationResult arc = simulate(new ArcReplacement(frames), ref);
+        SimulationResult twoQ = simulate(new TwoQueueReplacement(frames), ref);
+        System.out.println(lru);
+        System.out.println(arc);
+        System.out.println(twoQ);
+        System.out.printf("Faults saved vs LRU: ARC %.1f%%, 2Q %.1f%%\n",
+                100.0 * (lru.faults - arc.faults) / lru.faults,
+                100.0 * (lru.faults - twoQ.faults) / lru.faults);
+    }
+
+    // Sweeps every policy over a range of frame counts in parallel
+    static void sweepTrace(Path path, TraceReader.Format format, int minFrames, int maxFrames) throws IOException {
+        try (TraceReader trace = TraceReader.open(path, format)) {
+            System.out.println("Trace: " + path + " (" + format + "), Frames: " + minFrames + ".." + maxFrames);
+            PolicyType[] policies = PolicyType.values();
+            int[] frameSizes = ReplacementSweep.frameRange(minFrames, maxFrames);
+            ReplacementSweep.printMatrix(policies, frameSizes,
+                    ReplacementSweep.run(trace.asIntBuffer(), policies, frameSizes));
+        }
+    }
+
+    // Runs the engines over a memory-mapped trace file
+    static void simulateTrace(Path path, TraceReader.Format format, int frames) throws IOException {
+        try (TraceReader trace = TraceReader.open(path, format)) {
+            System.out.println("Trace: " + path + " (" + format + "), Frames: " + frames);
+
+            List<ReplacementPolicy> online = new ArrayList<>();
+            for (PolicyType type : PolicyType.values()) {
+                if (type.isOnline()) online.add(type.create(frames, null, null));
+            }
+            for (SimulationResult result : simulate(online, trace)) {
+                System.out.println(result);
+            }
+
+            if (format == TraceReader.Format.INT32) {
+                IntBuffer mapped = trace.asIntBuffer();
+                System.out.println(simulate(PolicyType.OPTIMAL.create(frames, mapped, null), mapped));
+            } else {
+                System.out.println("OPTIMAL -> skipped, needs an int32 trace for look-ahead");
+            }
+        }
+    }
+
+    // Runs the online engines over a virtual-address trace, converting
+    // addresses to pages on the fly
+    static void simulateAddresses(Path path, AddressTraceReader.Format format, int pageShift, int frames,
+                                  boolean renumber) throws IOException {
+        try (AddressTraceReader trace = AddressTraceReader.open(path, format, pageShift, true, renumber)) {
+            System.out.println("Address Trace: " + path + " (" + format + "), Page Size: " + (1L << pageShift)
+                    + " bytes, Frames: " + frames);
+
+            List<ReplacementPolicy> online = new ArrayList<>();
+            for (PolicyType type : PolicyType.values()) {
+                if (type.isOnline()) online.add(type.create(frames, null, null));
+            }
+            ReplacementPolicy[] all = online.toArray(new ReplacementPolicy[0]);
+            trace.forEachPage(page -> {
+                for (ReplacementPolicy policy : all) policy.access(page);
+            });
+
+            System.out.println("Addresses: " + trace.addresses() + ", After Merging Repeats: " + trace.pages());
+            for (ReplacementPolicy policy : all) {
+                System.out.println(new SimulationResult(policy.name(), trace.addresses(), policy.faults()));
+            }
+        }
+    }
+
+    // Print the fault curve produced by a single stack-distance pass
+    static void printCurve(long totalPages, long[] faults) {
+        System.out.println("Frames\tFaults\tHit Ratio");
+        for (int f = 1; f < faults.length; f++) {
+            double hitRatio = (totalPages - faults[f]) / (double) totalPages;
+            System.out.printf("%d\t%d\t%.2f\n", f, faults[f], hitRatio);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import java.nio.*;
+
+// Every policy the simulator can build by name.
+public enum PolicyType {
+    FIFO, LRU, OPTIMAL, CLOCK, SECOND_CHANCE, CLOCK_PRO, ARC, TWO_Q;
+
+    // trace and next are only used by OPTIMAL, which replays the trace it
+    // looks ahead in; next may be null to have it computed here.
+    // SECOND_CHANCE sees every reference as a read, since traces carry no dirty bits.
+    public ReplacementPolicy create(int frames, IntBuffer trace, int[] next) {
+        switch (this) {
+            case FIFO: return new FifoReplacement(frames);
+            case LRU: return new LruReplacement(frames);
+            case OPTIMAL: return next != null ? new OptimalReplacement(trace, next, frames) : new OptimalReplacement(trace, frames);
+            case CLOCK: return new ClockReplacement(frames);
+            case SECOND_CHANCE: return new EnhancedSecondChance(frames);
+            case CLOCK_PRO: return new ClockProReplacement(frames);
+            case ARC: return new ArcReplacement(frames);
+            default: return new TwoQueueReplacement(frames);
+        }
+    }
+
+    public ReplacementPolicy create(int frames, int[] ref) {
+        return create(frames, IntBuffer.wrap(ref), null);
+    }
+
+    // Policies that can run without seeing the future
+    public boolean isOnline() {
+        return this != OPTIMAL;
+    }
+}
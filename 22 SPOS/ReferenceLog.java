@@ -0,0 +1,144 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Per-reference event log for the replacement engines.
+// Each reference is stored as two little-endian ints, the page and the page
+// it evicted, instead of printing "Page X -> Fault | Frames: [..]" as it
+// happens:
+//   evicted == page     -> hit
+//   evicted == NO_PAGE  -> fault filling a free frame
+//   anything else       -> fault replacing that page
+// Events go into a preallocated direct buffer, or through a small direct
+// buffer into a FileChannel for traces too long to keep, so recording never
+// allocates. The text table is rebuilt from the events only when asked for.
+public class ReferenceLog implements Closeable {
+    static final int EVENT_BYTES = 8;
+    static final int FILE_BUFFER_BYTES = 1 << 16;
+
+    private final ByteBuffer buffer;
+    private final FileChannel channel; // null when the log is kept in memory
+    private long events;
+    private long faults;
+
+    private ReferenceLog(ByteBuffer buffer, FileChannel channel) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = channel;
+    }
+
+    // Off-heap log with room for a fixed number of references
+    public static ReferenceLog inMemory(int capacity) {
+        if (capacity <= 0 || capacity > Integer.MAX_VALUE / EVENT_BYTES) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        return new ReferenceLog(ByteBuffer.allocateDirect(capacity * EVENT_BYTES), null);
+    }
+
+    // Log written to a binary file, replacing any existing one
+    public static ReferenceLog toFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ReferenceLog(ByteBuffer.allocateDirect(FILE_BUFFER_BYTES), channel);
+    }
+
+    // Runs one reference through the policy and records what happened
+    public boolean access(ReplacementPolicy policy, int page) throws IOException {
+        boolean hit = policy.access(page);
+        record(page, hit ? page : policy.lastEvicted());
+        return hit;
+    }
+
+    private void record(int page, int evicted) throws IOException {
+        if (buffer.remaining() < EVENT_BYTES) {
+            if (channel == null) {
+                throw new IllegalStateException("Reference log full after " + events + " references");
+            }
+            flush();
+        }
+        buffer.putInt(page).putInt(evicted);
+        events++;
+        if (evicted != page) faults++;
+    }
+
+    public long events() {
+        return events;
+    }
+
+    public long faults() {
+        return faults;
+    }
+
+    // Writes buffered events to the file; nothing to do for an in-memory log
+    public void flush() throws IOException {
+        if (channel == null) return;
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Prints the classic table, one line per reference, with the frames in
+    // the order they were filled and each victim replaced in place
+    public void render(PrintStream out) throws IOException {
+        FrameReplay replay = new FrameReplay();
+        if (channel == null) {
+            ByteBuffer events = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            events.flip();
+            replay.print(events, out);
+            return;
+        }
+        flush();
+        long size = channel.size();
+        for (long offset = 0; offset < size; offset += TraceReader.WINDOW) {
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                    Math.min(TraceReader.WINDOW, size - offset)).order(ByteOrder.LITTLE_ENDIAN);
+            replay.print(window, out);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            flush();
+            channel.close();
+        }
+    }
+
+    // Rebuilds the frame contents from the events while printing them
+    private static class FrameReplay {
+        private final IntIntHashMap positionOf = new IntIntHashMap(16, -1);
+        private int[] frames = new int[16];
+        private int used;
+        private final StringBuilder line = new StringBuilder();
+
+        void print(ByteBuffer events, PrintStream out) {
+            while (events.remaining() >= EVENT_BYTES) {
+                int page = events.getInt();
+                int evicted = events.getInt();
+                boolean hit = evicted == page;
+                if (!hit) {
+                    int position;
+                    if (evicted == ReplacementPolicy.NO_PAGE) {
+                        if (used == frames.length) frames = Arrays.copyOf(frames, used * 2);
+                        position = used++;
+                    } else {
+                        position = positionOf.remove(evicted);
+                    }
+                    frames[position] = page;
+                    positionOf.put(page, position);
+                }
+
+                line.setLength(0);
+                line.append("Page ").append(page).append(hit ? " -> Hit   | Frames: [" : " -> Fault | Frames: [");
+                for (int i = 0; i < used; i++) {
+                    if (i > 0) line.append(", ");
+                    line.append(frames[i]);
+                }
+                out.println(line.append(']'));
+            }
+        }
+    }
+}
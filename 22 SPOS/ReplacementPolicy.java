@@ -0,0 +1,21 @@
+// A page-replacement policy managing a fixed number of frames.
+// Every engine in this folder implements it, so the simulator, the
+// sweep, the streaming mode and the benchmark drive them all the same way.
+public interface ReplacementPolicy {
+
+    // lastEvicted() after a hit or after filling a free frame; never a valid
+    // page, since IntIntHashMap reserves it as its empty-slot marker
+    int NO_PAGE = Integer.MIN_VALUE;
+
+    // References one page; returns true on a hit, false on a page fault
+    boolean access(int page);
+
+    // Page faults so far
+    long faults();
+
+    // Resident page pushed out by the most recent access, or NO_PAGE
+    int lastEvicted();
+
+    // Short name used when printing results
+    String name();
+}
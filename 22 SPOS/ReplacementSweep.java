@@ -0,0 +1,64 @@
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Runs every (policy, frame count) simulation of a sweep as an independent
+// task on a ForkJoinPool. All tasks read the same trace buffer with
+// absolute gets, and Optimal's next-use table is built once and shared.
+public class ReplacementSweep {
+
+    // faults[p][k] = page faults of policies[p] with frameSizes[k] frames
+    public static long[][] run(IntBuffer trace, PolicyType[] policies, int[] frameSizes, ForkJoinPool pool) {
+        IntBuffer shared = trace.asReadOnlyBuffer();
+        int[] next = Arrays.asList(policies).contains(PolicyType.OPTIMAL) ? OptimalReplacement.nextUse(shared) : null;
+        long[][] faults = new long[policies.length][frameSizes.length];
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int p = 0; p < policies.length; p++) {
+            for (int k = 0; k < frameSizes.length; k++) {
+                int row = p, col = k;
+                tasks.add(() -> {
+                    ReplacementPolicy policy = policies[row].create(frameSizes[col], shared, next);
+                    faults[row][col] = PageReplacementSimulator.simulate(policy, shared).faults;
+                    return null;
+                });
+            }
+        }
+        for (Future<Void> task : pool.invokeAll(tasks)) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Sweep interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Sweep task failed", e.getCause());
+            }
+        }
+        return faults;
+    }
+
+    public static long[][] run(IntBuffer trace, PolicyType[] policies, int[] frameSizes) {
+        return run(trace, policies, frameSizes, ForkJoinPool.commonPool());
+    }
+
+    // Frame counts from..to inclusive
+    public static int[] frameRange(int from, int to) {
+        int[] sizes = new int[to - from + 1];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = from + i;
+        }
+        return sizes;
+    }
+
+    // Print the fault matrix, one row per frame count
+    static void printMatrix(PolicyType[] policies, int[] frameSizes, long[][] faults) {
+        StringBuilder header = new StringBuilder("Frames");
+        for (PolicyType p : policies) header.append('\t').append(p);
+        System.out.println(header);
+        for (int k = 0; k < frameSizes.length; k++) {
+            StringBuilder row = new StringBuilder().append(frameSizes[k]);
+            for (int p = 0; p < policies.length; p++) row.append('\t').append(faults[p][k]);
+            System.out.println(row);
+        }
+    }
+}
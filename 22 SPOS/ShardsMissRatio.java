@@ -0,0 +1,331 @@
+import java.util.*;
+
+// Approximate LRU miss-ratio curves by spatially hashed sampling (SHARDS,
+// Waldspurger et al., FAST 2015).
+// A page is sampled when hash(page) mod P < T, so every reference to a
+// sampled page is seen and reuse distances among sampled pages are exact;
+// dividing them by the sampling rate R = T / P estimates the true LRU
+// stack distance. Memory is bounded by maxPages: when more distinct pages
+// are tracked, the one with the largest hash is dropped and T lowered to
+// its hash, so R adapts to the trace. Each sample is weighted by 1 / R
+// so samples taken at different rates stay comparable.
+// Distances are counted in buckets of bucketWidth frames, and the curve is
+// reported at multiples of bucketWidth.
+//
+// Accuracy depends on how many distinct pages end up in the sample. Each
+// point of the curve is in effect a proportion estimated from the sampled
+// pages, so for a target error e (about 95% confidence, two standard
+// errors of a proportion) at least samplesFor(e) = 1 / e^2 distinct pages
+// must be sampled: 10,000 for +-0.01, 2,500 for +-0.02, 400 for +-0.05.
+// Below a few hundred the curve is not usable. forAccuracy(e) sets maxPages to that budget and starts at
+// rate 1, leaving the rate to adapt (fixed-size SHARDS).
+// That count assumes references are spread fairly evenly over pages; on a
+// skewed trace one sampled hot page can move the curve a long way. So the
+// sampled pages are also split into GROUPS groups by other hash bits, and
+// errorBound() is twice the largest jackknife standard error of the curve
+// over those groups, measured on the trace itself. When it comes out above
+// the target, the trace is too skewed for the budget and maxPages should grow.
+public class ShardsMissRatio {
+    static final int MODULUS = 1 << 24;
+    static final int GROUPS = 16;
+    private static final double Z = 2; // about 95% confidence
+
+    private final int maxPages;
+    private final int bucketWidth;
+    private int threshold;
+
+    private final IntIntHashMap slotOf; // sampled page -> slot
+    private final int[] pageAt;
+    private final int[] lastTime;       // slot -> sampled time of last reference
+    private final IndexedMaxHeap byHash;
+    private final int[] freeSlots;
+    private int freeCount;
+
+    // Fenwick tree over sampled time, renumbered when it fills up
+    private final long[] fenwick;
+    private int time;
+
+    // reuse-distance histogram, cold misses and sample weight of each group
+    private double[][] histogram = new double[GROUPS][64];
+    private final double[] coldWeight = new double[GROUPS];
+    private final double[] totalWeight = new double[GROUPS];
+    private long references;
+    private long sampled;
+    private double targetError = Double.NaN;
+
+    // Fixed-size sampling sized for a target absolute error of the curve
+    public static ShardsMissRatio forAccuracy(double maxError, int bucketWidth) {
+        ShardsMissRatio shards = new ShardsMissRatio(1, samplesFor(maxError), bucketWidth);
+        shards.targetError = maxError;
+        return shards;
+    }
+
+    // Distinct sampled pages needed for a target absolute error
+    public static int samplesFor(double maxError) {
+        if (maxError <= 0 || maxError >= 1) {
+            throw new IllegalArgumentException("maxError must be in (0, 1): " + maxError);
+        }
+        return (int) Math.ceil(Math.pow(Z / (2 * maxError), 2));
+    }
+
+    public ShardsMissRatio(double rate, int maxPages, int bucketWidth) {
+        if (rate <= 0 || rate > 1 || maxPages <= 0 || bucketWidth <= 0) {
+            throw new IllegalArgumentException("need 0 < rate <= 1 and positive maxPages, bucketWidth");
+        }
+        this.threshold = (int) Math.max(1, Math.round(rate * MODULUS));
+        this.maxPages = maxPages;
+        this.bucketWidth = bucketWidth;
+        int slots = maxPages + 1;
+        this.slotOf = new IntIntHashMap(slots, -1);
+        this.pageAt = new int[slots];
+        this.lastTime = new int[slots];
+        this.byHash = new IndexedMaxHeap(slots);
+        this.freeSlots = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            freeSlots[freeCount++] = slots - 1 - i;
+        }
+        this.fenwick = new long[2 * slots + 1];
+    }
+
+    public void accept(int page) {
+        references++;
+        int mixed = mix(page);
+        int hash = mixed & (MODULUS - 1);
+        if (hash >= threshold) return;
+
+        sampled++;
+        int group = mixed >>> 28;
+        double rate = threshold / (double) MODULUS;
+        double weight = 1 / rate;
+        totalWeight[group] += weight;
+        if (time == fenwick.length - 1) compact();
+
+        int slot = slotOf.get(page);
+        if (slot < 0) {
+            coldWeight[group] += weight;
+            slot = freeSlots[--freeCount];
+            pageAt[slot] = page;
+            slotOf.put(page, slot);
+            byHash.push(slot, hash);
+        } else {
+            int last = lastTime[slot];
+            long depth = prefixSum(time - 1) - prefixSum(last) + 1;
+            int bucket = (int) Math.ceil(depth / rate / bucketWidth) - 1;
+            if (bucket >= histogram[0].length) {
+                int length = Math.max(bucket + 1, histogram[0].length * 2);
+                for (int g = 0; g < GROUPS; g++) {
+                    histogram[g] = Arrays.copyOf(histogram[g], length);
+                }
+            }
+            histogram[group][bucket] += weight;
+            add(last, -1);
+        }
+
+        lastTime[slot] = time;
+        add(time, 1);
+        time++;
+
+        if (byHash.size() > maxPages) {
+            lowerThreshold();
+        }
+    }
+
+    // Stops sampling the pages with the largest hash until back within budget
+    private void lowerThreshold() {
+        threshold = (int) byHash.key(byHash.peek());
+        while (byHash.size() > 0 && byHash.key(byHash.peek()) >= threshold) {
+            int slot = byHash.poll();
+            add(lastTime[slot], -1);
+            slotOf.remove(pageAt[slot]);
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    // Renumbers the tracked pages' last-access times 0..k-1, keeping their order
+    private void compact() {
+        int k = 0;
+        long[] order = new long[byHash.size()];
+        for (int slot = 0; slot < pageAt.length; slot++) {
+            if (byHash.contains(slot)) order[k++] = ((long) lastTime[slot] << 32) | slot;
+        }
+        Arrays.sort(order, 0, k);
+        Arrays.fill(fenwick, 0);
+        for (int i = 0; i < k; i++) {
+            lastTime[(int) order[i]] = i;
+            add(i, 1);
+        }
+        time = k;
+    }
+
+    // Estimated miss ratio with frames = k * bucketWidth, for k = 0..buckets
+    public double[] missRatioCurve() {
+        double[] hist = new double[histogram[0].length];
+        double cold = 0, total = 0;
+        for (int g = 0; g < GROUPS; g++) {
+            for (int b = 0; b < hist.length; b++) hist[b] += histogram[g][b];
+            cold += coldWeight[g];
+            total += totalWeight[g];
+        }
+        return curve(hist, cold, total, references, length());
+    }
+
+    // About 95% bound on the absolute error of any point of the curve: a
+    // delete-one-group jackknife, which catches a single heavily weighted
+    // hot page dragging the whole curve; NaN until two groups have samples
+    public double errorBound() {
+        int length = length();
+        double[] hist = new double[histogram[0].length];
+        double cold = 0, total = 0;
+        int groups = 0;
+        for (int g = 0; g < GROUPS; g++) {
+            for (int b = 0; b < hist.length; b++) hist[b] += histogram[g][b];
+            cold += coldWeight[g];
+            total += totalWeight[g];
+            if (totalWeight[g] > 0) groups++;
+        }
+        if (groups < 2) return Double.NaN;
+
+        // curve without group g, which covers 1 / GROUPS of the pages
+        double[][] without = new double[GROUPS][];
+        double[] rest = new double[hist.length];
+        for (int g = 0; g < GROUPS; g++) {
+            for (int b = 0; b < hist.length; b++) rest[b] = hist[b] - histogram[g][b];
+            without[g] = curve(rest, cold - coldWeight[g], total - totalWeight[g],
+                    references * (GROUPS - 1) / (double) GROUPS, length);
+        }
+        double worst = 0;
+        for (int k = 0; k < length; k++) {
+            double mean = 0;
+            for (int g = 0; g < GROUPS; g++) mean += without[g][k];
+            mean /= GROUPS;
+            double squares = 0;
+            for (int g = 0; g < GROUPS; g++) squares += (without[g][k] - mean) * (without[g][k] - mean);
+            worst = Math.max(worst, Math.sqrt(squares * (GROUPS - 1) / GROUPS));
+        }
+        return Z * worst;
+    }
+
+    // Target error given to forAccuracy, NaN otherwise
+    public double targetError() {
+        return targetError;
+    }
+
+    // Distinct pages in the sample at the current rate
+    public int sampledPages() {
+        return byHash.size();
+    }
+
+    // Curve points: one past the last non-empty bucket of any group
+    private int length() {
+        int last = 0;
+        for (int g = 0; g < GROUPS; g++) {
+            for (int b = histogram[g].length - 1; b > last; b--) {
+                if (histogram[g][b] != 0) {
+                    last = b;
+                    break;
+                }
+            }
+        }
+        return last + 2;
+    }
+
+    private static double[] curve(double[] histogram, double cold, double total, double references, int length) {
+        double[] hist = Arrays.copyOf(histogram, Math.max(histogram.length, length));
+        if (total > 0) {
+            // SHARDS-adj: every reference should carry weight 1 in expectation, so credit
+            // the shortfall (or excess) to the smallest distances, where the hot pages fall
+            double missing = references - total;
+            hist[0] += missing;
+            total += missing;
+        }
+        double[] curve = new double[length];
+        double misses = cold;
+        for (int k = length - 1; k >= 0; k--) {
+            curve[k] = total == 0 ? 0 : Math.min(1, Math.max(0, misses / total));
+            if (k > 0) misses += hist[k - 1];
+        }
+        return curve;
+    }
+
+    public int bucketWidth() {
+        return bucketWidth;
+    }
+
+    public double samplingRate() {
+        return threshold / (double) MODULUS;
+    }
+
+    public long references() {
+        return references;
+    }
+
+    public long sampledReferences() {
+        return sampled;
+    }
+
+    private void add(int index, long delta) {
+        for (int i = index + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    private long prefixSum(int index) {
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += fenwick[i];
+        }
+        return sum;
+    }
+
+    // murmur3 finalizer; the low 24 bits decide sampling, the top 4 the group
+    private static int mix(int page) {
+        int h = page;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // Compares SHARDS against the exact stack-distance curve, at fixed rates
+    // and sized for a target error
+    public static void main(String[] args) {
+        int[] ref = SyntheticTraces.zipfian(5_000_000, 200_000, 0.9, 5);
+        int bucketWidth = 1000;
+
+        long start = System.nanoTime();
+        long[] exact = StackDistance.lruFaultCurve(ref);
+        double exactMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("Exact curve: %.0f ms\n", exactMillis);
+
+        List<ShardsMissRatio> runs = new ArrayList<>();
+        for (double rate : new double[]{0.1, 0.01, 0.001}) {
+            runs.add(new ShardsMissRatio(rate, 8192, bucketWidth));
+        }
+        for (double target : new double[]{0.05, 0.02, 0.01}) {
+            runs.add(forAccuracy(target, bucketWidth));
+        }
+        for (ShardsMissRatio shards : runs) {
+            start = System.nanoTime();
+            for (int page : ref) shards.accept(page);
+            double[] curve = shards.missRatioCurve();
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            double maxError = 0, sumError = 0;
+            int points = 0;
+            for (int k = 1; k * bucketWidth < exact.length; k++) {
+                double actual = exact[k * bucketWidth] / (double) ref.length;
+                double estimate = curve[Math.min(k, curve.length - 1)];
+                maxError = Math.max(maxError, Math.abs(actual - estimate));
+                sumError += Math.abs(actual - estimate);
+                points++;
+            }
+            String target = Double.isNaN(shards.targetError()) ? "" : String.format("Target %.2f, ", shards.targetError());
+            System.out.printf("%sRate %.5f, Sampled Pages %d, %.0f ms, Bound %.4f, "
+                            + "Mean Abs Error %.4f, Max Abs Error %.4f\n",
+                    target, shards.samplingRate(), shards.sampledPages(), millis, shards.errorBound(),
+                    sumError / points, maxError);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// Outcome of running one policy over a reference string.
+public class SimulationResult {
+    final String policy;
+    final long references;
+    final long faults;
+
+    SimulationResult(String policy, long references, long faults) {
+        this.policy = policy;
+        this.references = references;
+        this.faults = faults;
+    }
+
+    double hitRatio() {
+        return references == 0 ? 0 : (references - faults) / (double) references;
+    }
+
+    @Override
+    public String toString() {
+        return policy + " -> Page Faults: " + faults + ", Hit Ratio: " + String.format("%.2f", hitRatio());
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.*;
+
+// Mattson stack-distance analysis: one pass over the reference string
+// gives the LRU fault count for every frame count at once.
+// A Fenwick tree marks the time of the latest access to each page, so the
+// number of distinct pages touched since a page's previous access (its
+// depth in the LRU stack) is a prefix-sum query.
+public class StackDistance {
+
+    // faults[f] = LRU page faults with f frames, for f = 0..distinct pages.
+    // Any frame count above the last index faults only on cold misses.
+    public static long[] lruFaultCurve(int[] ref) {
+        int n = ref.length;
+        long[] fenwick = new long[n + 1];
+        IntIntHashMap lastAccess = new IntIntHashMap(1024, -1);
+        long[] histogram = new long[16]; // histogram[d] = reuses at stack depth d
+        int maxDepth = 0;
+        long coldMisses = 0;
+
+        for (int i = 0; i < n; i++) {
+            int last = lastAccess.put(ref[i], i);
+            if (last < 0) {
+                coldMisses++;
+            } else {
+                // pages marked in (last, i) were used more recently than this one
+                int depth = (int) (prefixSum(fenwick, i - 1) - prefixSum(fenwick, last)) + 1;
+                if (depth >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, Math.max(depth + 1, histogram.length * 2));
+                }
+                histogram[depth]++;
+                if (depth > maxDepth) maxDepth = depth;
+                add(fenwick, last, -1);
+            }
+            add(fenwick, i, 1);
+        }
+
+        int distinct = lastAccess.size();
+        long[] faults = new long[distinct + 1];
+        faults[0] = n;
+        // a reuse at depth d hits whenever frames >= d
+        long misses = coldMisses;
+        for (int d = maxDepth; d >= 1; d--) {
+            faults[d] = misses;
+            misses += histogram[d];
+        }
+        for (int f = maxDepth + 1; f <= distinct; f++) {
+            faults[f] = coldMisses;
+        }
+        return faults;
+    }
+
+    // Fenwick tree over positions 0..n-1 stored 1-based
+    private static void add(long[] tree, int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Sum of positions 0..index
+    private static long prefixSum(long[] tree, int index) {
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,59 @@
+// Push-style simulation for unbounded reference streams: pages are fed
+// one at a time with accept(), and running fault counts are printed every
+// reportInterval decided references. FIFO, LRU and the other online
+// policies plug in directly and use constant memory per frame however
+// long the stream runs.
+public class StreamingSimulator {
+    private final String name;
+    private final ReplacementPolicy policy;
+    private final long reportInterval;
+    private long references;
+    private long faults;
+    private long faultsAtLastReport;
+
+    public StreamingSimulator(ReplacementPolicy policy, long reportInterval) {
+        this(policy.name(), reportInterval, policy);
+    }
+
+    // For subclasses that decide references themselves and call record()
+    protected StreamingSimulator(String name, long reportInterval) {
+        this(name, reportInterval, null);
+    }
+
+    private StreamingSimulator(String name, long reportInterval, ReplacementPolicy policy) {
+        if (reportInterval <= 0) {
+            throw new IllegalArgumentException("reportInterval must be positive: " + reportInterval);
+        }
+        this.name = name;
+        this.policy = policy;
+        this.reportInterval = reportInterval;
+    }
+
+    public void accept(int page) {
+        record(policy.access(page));
+    }
+
+    // Decides any references still buffered; nothing to do for FIFO/LRU
+    public void flush() {
+    }
+
+    public long references() {
+        return references;
+    }
+
+    public long faults() {
+        return faults;
+    }
+
+    // Counts one decided reference and reports at every interval
+    protected void record(boolean hit) {
+        references++;
+        if (!hit) faults++;
+        if (references % reportInterval == 0) {
+            long intervalFaults = faults - faultsAtLastReport;
+            faultsAtLastReport = faults;
+            System.out.printf("%s -> References: %d, Page Faults: %d, Last %d Fault Rate: %.2f%%\n",
+                    name, references, faults, reportInterval, 100.0 * intervalFaults / reportInterval);
+        }
+    }
+}
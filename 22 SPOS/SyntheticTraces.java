@@ -0,0 +1,69 @@
+import java.util.*;
+
+// Seeded synthetic reference strings for comparing policies.
+public class SyntheticTraces {
+
+    // Every reference picks one of `pages` pages with equal probability
+    public static int[] uniform(int length, int pages, long seed) {
+        Random random = new Random(seed);
+        int[] ref = new int[length];
+        for (int i = 0; i < length; i++) {
+            ref[i] = random.nextInt(pages);
+        }
+        return ref;
+    }
+
+    // Page k (0-based) is picked with probability proportional to 1 / (k + 1)^exponent
+    public static int[] zipfian(int length, int pages, double exponent, long seed) {
+        double[] cdf = new double[pages];
+        double sum = 0;
+        for (int k = 0; k < pages; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        Random random = new Random(seed);
+        int[] ref = new int[length];
+        for (int i = 0; i < length; i++) {
+            int k = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            ref[i] = k >= 0 ? k : Math.min(-k - 1, pages - 1);
+        }
+        return ref;
+    }
+
+    // 0, 1, ..., loopPages - 1 repeated, the classic worst case for LRU
+    public static int[] looping(int length, int loopPages) {
+        int[] ref = new int[length];
+        for (int i = 0; i < length; i++) {
+            ref[i] = i % loopPages;
+        }
+        return ref;
+    }
+
+    // A single sequential scan: every reference is a new page
+    public static int[] sequential(int length) {
+        int[] ref = new int[length];
+        for (int i = 0; i < length; i++) {
+            ref[i] = i;
+        }
+        return ref;
+    }
+
+    // A hot working set of hotPages pages referenced at random, interrupted
+    // every scanEvery references by a sequential scan over scanLength
+    // pages that are never touched again
+    public static int[] scanHeavy(int length, int hotPages, int scanEvery, int scanLength, long seed) {
+        Random random = new Random(seed);
+        int[] ref = new int[length];
+        int nextScanPage = hotPages;
+        int i = 0;
+        while (i < length) {
+            for (int k = 0; k < scanEvery && i < length; k++) {
+                ref[i++] = random.nextInt(hotPages);
+            }
+            for (int k = 0; k < scanLength && i < length; k++) {
+                ref[i++] = nextScanPage++;
+            }
+        }
+        return ref;
+    }
+}
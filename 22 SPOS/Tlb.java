@@ -0,0 +1,124 @@
+import java.util.*;
+
+// Set-associative translation lookaside buffer over virtual page numbers.
+// entries / ways sets; a page can only live in set vpn mod sets,
+// and a miss replaces the set's least recently used way or a random one.
+// Tags and use stamps are flat long arrays indexed set * ways + way, so
+// full 64-bit page numbers fit; Long.MIN_VALUE marks an empty way. Page
+// numbers are never negative: AddressTraceReader shifts addresses right by
+// at least one bit, and the synthetic traces are ints.
+public class Tlb {
+
+    enum Replacement { LRU, RANDOM }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final String name;
+    private final int sets;
+    private final int ways;
+    private final Replacement replacement;
+    private final double latencyNs;
+    private final long[] tag;
+    private final long[] lastUse;
+    private long clock;
+    private int random;
+    private long hits, misses;
+
+    public Tlb(String name, int entries, int ways, Replacement replacement, double latencyNs) {
+        if (ways <= 0 || entries <= 0 || entries % ways != 0) {
+            throw new IllegalArgumentException("entries must be a positive multiple of ways: " + entries + "/" + ways);
+        }
+        this.name = name;
+        this.sets = entries / ways;
+        this.ways = ways;
+        this.replacement = replacement;
+        this.latencyNs = latencyNs;
+        this.tag = new long[entries];
+        this.lastUse = new long[entries];
+        this.random = 0x2545F491;
+        Arrays.fill(tag, EMPTY);
+    }
+
+    // Returns true if the translation is cached
+    public boolean lookup(long vpn) {
+        int base = setOf(vpn) * ways;
+        for (int i = base; i < base + ways; i++) {
+            if (tag[i] == vpn) {
+                lastUse[i] = ++clock;
+                hits++;
+                return true;
+            }
+        }
+        misses++;
+        return false;
+    }
+
+    // Caches a translation after a miss, replacing a way if the set is full
+    public void insert(long vpn) {
+        int base = setOf(vpn) * ways;
+        int victim = -1;
+        for (int i = base; i < base + ways; i++) {
+            if (tag[i] == EMPTY) {
+                victim = i;
+                break;
+            }
+        }
+        if (victim < 0) {
+            if (replacement == Replacement.RANDOM) {
+                victim = base + Math.floorMod(nextRandom(), ways);
+            } else {
+                victim = base;
+                for (int i = base + 1; i < base + ways; i++) {
+                    if (lastUse[i] < lastUse[victim]) victim = i;
+                }
+            }
+        }
+        tag[victim] = vpn;
+        lastUse[victim] = ++clock;
+    }
+
+    // Drops a translation whose page has left memory (a TLB shootdown)
+    public void invalidate(long vpn) {
+        int base = setOf(vpn) * ways;
+        for (int i = base; i < base + ways; i++) {
+            if (tag[i] == vpn) {
+                tag[i] = EMPTY;
+                return;
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public double latencyNs() {
+        return latencyNs;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : hits / (double) lookups;
+    }
+
+    // Low bits of the page number pick the set, as in hardware
+    private int setOf(long vpn) {
+        return (int) Math.floorMod(vpn, (long) sets);
+    }
+
+    // xorshift, so a random victim costs no allocation
+    private int nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return random;
+    }
+}
@@ -0,0 +1,132 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.function.*;
+
+// Reads page-reference traces straight from a memory-mapped file, one
+// window at a time, so multi-GB traces never have to fit on the heap.
+//
+// Formats:
+//   INT32  - little-endian 32-bit page numbers
+//   INT64  - little-endian 64-bit page numbers (each must fit in an int)
+//   VARINT - each page stored as the zigzag-encoded difference from the
+//            previous page, written as an LEB128 varint (first delta is from 0)
+public class TraceReader implements Closeable {
+
+    enum Format { INT32, INT64, VARINT }
+
+    // Bytes mapped at a time; a multiple of 8 so no fixed-width value is split
+    static final long WINDOW = 1L << 30;
+
+    private final FileChannel channel;
+    private final Format format;
+    private final long size;
+
+    private TraceReader(FileChannel channel, Format format) throws IOException {
+        this.channel = channel;
+        this.format = format;
+        this.size = channel.size();
+    }
+
+    public static TraceReader open(Path path, Format format) throws IOException {
+        return new TraceReader(FileChannel.open(path, StandardOpenOption.READ), format);
+    }
+
+    public static Format parseFormat(String name) {
+        switch (name.toLowerCase()) {
+            case "int32": return Format.INT32;
+            case "int64": return Format.INT64;
+            case "varint": return Format.VARINT;
+            default: throw new IllegalArgumentException("Unknown trace format: " + name);
+        }
+    }
+
+    // Number of references, or -1 for VARINT where it is only known after decoding
+    public long references() {
+        switch (format) {
+            case INT32: return size / 4;
+            case INT64: return size / 8;
+            default: return -1;
+        }
+    }
+
+    // Streams every page of the trace, in order, to the consumer
+    public void forEach(IntConsumer consumer) throws IOException {
+        switch (format) {
+            case INT32: forEachInt32(consumer); break;
+            case INT64: forEachInt64(consumer); break;
+            default: forEachVarint(consumer); break;
+        }
+    }
+
+    // The whole INT32 trace as one mapped buffer, for engines that need
+    // random access (Optimal looks ahead); limited to a single 2 GB mapping
+    public IntBuffer asIntBuffer() throws IOException {
+        if (format != Format.INT32) {
+            throw new IllegalStateException("Random access needs an INT32 trace, not " + format);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("INT32 trace too large to map at once: " + size + " bytes");
+        }
+        return map(0, size & ~3L).asIntBuffer();
+    }
+
+    private void forEachInt32(IntConsumer consumer) throws IOException {
+        long end = size & ~3L;
+        for (long offset = 0; offset < end; offset += WINDOW) {
+            IntBuffer window = map(offset, Math.min(WINDOW, end - offset)).asIntBuffer();
+            for (int i = 0, n = window.limit(); i < n; i++) {
+                consumer.accept(window.get(i));
+            }
+        }
+    }
+
+    private void forEachInt64(IntConsumer consumer) throws IOException {
+        long end = size & ~7L;
+        for (long offset = 0; offset < end; offset += WINDOW) {
+            LongBuffer window = map(offset, Math.min(WINDOW, end - offset)).asLongBuffer();
+            for (int i = 0, n = window.limit(); i < n; i++) {
+                consumer.accept(Math.toIntExact(window.get(i)));
+            }
+        }
+    }
+
+    private void forEachVarint(IntConsumer consumer) throws IOException {
+        // decoder state lives outside the loop so a varint may span two windows
+        int page = 0;
+        long value = 0;
+        int shift = 0;
+        for (long offset = 0; offset < size; offset += WINDOW) {
+            ByteBuffer window = map(offset, Math.min(WINDOW, size - offset));
+            for (int i = 0, n = window.limit(); i < n; i++) {
+                byte b = window.get(i);
+                value |= (long) (b & 0x7F) << shift;
+                if (b < 0) {
+                    shift += 7;
+                    if (shift >= 35) {
+                        throw new IOException("Malformed varint at byte " + (offset + i));
+                    }
+                    continue;
+                }
+                int delta = (int) (value >>> 1) ^ -(int) (value & 1);
+                page += delta;
+                consumer.accept(page);
+                value = 0;
+                shift = 0;
+            }
+        }
+        if (shift != 0) {
+            throw new IOException("Trace ends in the middle of a varint");
+        }
+    }
+
+    private ByteBuffer map(long offset, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,98 @@
+// 2Q page replacement (Johnson and Shasha, VLDB 1994), full version.
+// New pages enter A1in, a FIFO of about a quarter of the frames. Pages
+// pushed out of A1in are remembered in the ghost FIFO A1out, and only a
+// page referenced again while in A1out is admitted to Am, the LRU list
+// holding the rest of the frames. A sequential scan therefore passes
+// through A1in without disturbing Am.
+public class TwoQueueReplacement implements ReplacementPolicy {
+    private static final int A1IN = 0, A1OUT = 1, AM = 2;
+
+    private final int frames;
+    private final int kIn;  // A1in size before it gives up pages
+    private final int kOut; // ghost entries remembered in A1out
+    private final IntIntHashMap nodeOf; // page -> node, resident or ghost
+    private final IntLinkedLists lists;
+    private long faults;
+    private int evicted = NO_PAGE;
+
+    public TwoQueueReplacement(int frames) {
+        this(frames, Math.max(1, frames / 4), Math.max(1, frames / 2));
+    }
+
+    public TwoQueueReplacement(int frames, int kIn, int kOut) {
+        if (frames <= 0 || kIn <= 0 || kOut <= 0) {
+            throw new IllegalArgumentException("frames, kIn and kOut must be positive");
+        }
+        this.frames = frames;
+        this.kIn = kIn;
+        this.kOut = kOut;
+        this.nodeOf = new IntIntHashMap(frames + kOut + 1, IntLinkedLists.NIL);
+        this.lists = new IntLinkedLists(frames + kOut + 1, 3);
+    }
+
+    @Override
+    public boolean access(int page) {
+        evicted = NO_PAGE;
+        int node = nodeOf.get(page);
+        if (node != IntLinkedLists.NIL) {
+            int list = lists.listOf(node);
+            if (list == AM) {
+                lists.moveToFront(AM, node);
+                return true;
+            }
+            if (list == A1IN) {
+                return true;
+            }
+            // remembered in A1out: this is a real reuse, promote to Am
+            faults++;
+            lists.unlink(node);
+            reclaim();
+            lists.pushFront(AM, node);
+            return false;
+        }
+
+        faults++;
+        reclaim();
+        node = lists.allocate(page);
+        nodeOf.put(page, node);
+        lists.pushFront(A1IN, node);
+        return false;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+
+    @Override
+    public int lastEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String name() {
+        return "2Q";
+    }
+
+    // Frees one frame if all of them are in use
+    private void reclaim() {
+        if (lists.size(A1IN) + lists.size(AM) < frames) {
+            return;
+        }
+        if (lists.size(A1IN) > kIn || lists.size(AM) == 0) {
+            int victim = lists.last(A1IN);
+            evicted = lists.page(victim);
+            lists.moveToFront(A1OUT, victim);
+            if (lists.size(A1OUT) > kOut) {
+                int ghost = lists.last(A1OUT);
+                nodeOf.remove(lists.page(ghost));
+                lists.free(ghost);
+            }
+        } else {
+            int victim = lists.last(AM);
+            evicted = lists.page(victim);
+            nodeOf.remove(evicted);
+            lists.free(victim);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// Approximate Optimal replacement for streams: each reference is decided
+// once `lookahead` later references have been buffered, and a resident
+// page's next use is only known if it falls inside that window. Pages with
+// no use in sight are evicted first, least recently used among them, which
+// makes this exact Optimal once the window covers the rest of the stream.
+// Memory is O(lookahead + frames) no matter how long the stream runs.
+public class WindowedOptimal extends StreamingSimulator {
+    private static final long NONE = -1;
+
+    private final int frames;
+    private final int capacity;   // lookahead + 1 buffered references
+    private final int[] buffer;   // ring of buffered pages
+    private final long[] nextPos; // ring index -> position of the next use of that page in the window
+    private final IntIntHashMap latestIn; // page -> ring index of its latest buffered use
+    private long head;            // position of the oldest undecided reference
+    private long tail;            // position of the next reference to arrive
+
+    private final IntIntHashMap slotOf; // page -> frame slot
+    private final int[] pageAt;         // frame slot -> page
+    private final IndexedMaxHeap byNextUse;
+    private int used;
+
+    public WindowedOptimal(int frames, int lookahead, long reportInterval) {
+        super("OPT(window " + lookahead + ")", reportInterval);
+        if (frames <= 0 || lookahead < 0) {
+            throw new IllegalArgumentException("frames must be positive and lookahead non-negative");
+        }
+        this.frames = frames;
+        this.capacity = lookahead + 1;
+        this.buffer = new int[capacity];
+        this.nextPos = new long[capacity];
+        this.latestIn = new IntIntHashMap(capacity, -1);
+        this.slotOf = new IntIntHashMap(frames, -1);
+        this.pageAt = new int[frames];
+        this.byNextUse = new IndexedMaxHeap(frames);
+    }
+
+    @Override
+    public void accept(int page) {
+        int index = (int) (tail % capacity);
+        buffer[index] = page;
+        nextPos[index] = NONE;
+        int previous = latestIn.put(page, index);
+        if (previous >= 0) {
+            nextPos[previous] = tail;
+        } else {
+            // a resident page with no use in sight now has one
+            int slot = slotOf.get(page);
+            if (slot >= 0) byNextUse.update(slot, tail);
+        }
+        tail++;
+
+        if (tail - head == capacity) {
+            decide();
+        }
+    }
+
+    @Override
+    public void flush() {
+        while (head < tail) {
+            decide();
+        }
+    }
+
+    private void decide() {
+        int index = (int) (head % capacity);
+        int page = buffer[index];
+        long next = nextPos[index];
+        // unknown next use ranks above any known one, older pages first
+        long key = next != NONE ? next : Long.MAX_VALUE - head;
+        if (latestIn.get(page) == index) {
+            latestIn.remove(page);
+        }
+        head++;
+
+        int slot = slotOf.get(page);
+        if (slot >= 0) {
+            byNextUse.update(slot, key);
+            record(true);
+            return;
+        }
+
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = byNextUse.poll();
+            slotOf.remove(pageAt[slot]);
+        }
+        pageAt[slot] = page;
+        slotOf.put(page, slot);
+        byNextUse.push(slot, key);
+        record(false);
+    }
+}
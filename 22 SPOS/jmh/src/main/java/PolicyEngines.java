@@ -0,0 +1,24 @@
+import java.util.function.*;
+import spos.bench.*;
+
+// Default-package side of spos.bench.Engines: builds the engines and the
+// synthetic traces of the folder above for the benchmarks.
+public class PolicyEngines implements Engines {
+
+    @Override
+    public int[] trace(String kind, int size, int frames) {
+        switch (kind) {
+            case "uniform": return SyntheticTraces.uniform(size, frames * 4, 1);
+            case "zipfian": return SyntheticTraces.zipfian(size, frames * 16, 0.99, 2);
+            case "looping": return SyntheticTraces.looping(size, frames + frames / 4);
+            case "scan": return SyntheticTraces.sequential(size);
+            default: throw new IllegalArgumentException("Unknown trace: " + kind);
+        }
+    }
+
+    @Override
+    public IntPredicate create(String policy, int frames, int[] trace) {
+        ReplacementPolicy engine = PolicyType.valueOf(policy).create(frames, trace);
+        return engine::access;
+    }
+}
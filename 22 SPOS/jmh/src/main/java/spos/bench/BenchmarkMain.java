@@ -0,0 +1,21 @@
+package spos.bench;
+
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+// Entry point of benchmarks.jar: the usual JMH command line, with the GC
+// profiler always on so every result comes with gc.alloc.rate.norm, the
+// bytes allocated per reference.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        boolean hasGc = cli.getProfilers().stream().anyMatch(p -> p.getKlass().equals(GCProfiler.class.getName())
+                || p.getKlass().equals("gc"));
+        if (!hasGc) options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
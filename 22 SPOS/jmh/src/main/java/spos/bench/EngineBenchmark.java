@@ -0,0 +1,63 @@
+package spos.bench;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+import org.openjdk.jmh.annotations.*;
+
+// ns per reference of every engine on every synthetic trace and size.
+// Each invocation feeds BATCH references, carrying on where the last one
+// stopped; at the end of the trace a fresh engine starts over, so building
+// an engine (and Optimal's look-ahead table) is part of the cost, spread
+// over one pass. Every (policy, trace, size) runs in its own forked JVMs,
+// so the call into the engine only ever sees one implementation and no
+// engine is measured through a call site the others have made megamorphic.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(EngineBenchmark.BATCH)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EngineBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"FIFO", "LRU", "OPTIMAL", "CLOCK", "SECOND_CHANCE", "CLOCK_PRO", "ARC", "TWO_Q"})
+    public String policy;
+
+    @Param({"uniform", "zipfian", "looping", "scan"})
+    public String trace;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"64"})
+    public int frames;
+
+    private Engines engines;
+    private int[] ref;
+    private IntPredicate engine;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engines = Engines.load();
+        ref = engines.trace(trace, size, frames);
+        restart();
+    }
+
+    // Hits in this batch, returned so the accesses cannot be optimised away
+    @Benchmark
+    public int access() {
+        int hits = 0;
+        for (int i = 0; i < BATCH; i++) {
+            if (position == ref.length) restart();
+            if (engine.test(ref[position++])) hits++;
+        }
+        return hits;
+    }
+
+    private void restart() {
+        engine = engines.create(policy, frames, ref);
+        position = 0;
+    }
+}
@@ -0,0 +1,25 @@
+package spos.bench;
+
+import java.util.function.*;
+
+// What the benchmarks need from the engines in the default package.
+// JMH only accepts benchmarks in a named package, and code in a named
+// package cannot name default-package classes, so the default-package
+// PolicyEngines implements this and is looked up by name once per trial.
+// The IntPredicate it hands back calls the engine's access() directly.
+public interface Engines {
+
+    // "uniform", "zipfian", "looping" or "scan", sized for the frame count
+    int[] trace(String kind, int size, int frames);
+
+    // A fresh engine; OPTIMAL looks ahead in trace and must be fed it in order
+    IntPredicate create(String policy, int frames, int[] trace);
+
+    static Engines load() {
+        try {
+            return (Engines) Class.forName("PolicyEngines").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("PolicyEngines is missing from the build", e);
+        }
+    }
+}
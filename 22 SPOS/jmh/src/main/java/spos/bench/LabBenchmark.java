@@ -0,0 +1,78 @@
+package spos.bench;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+
+// ns per reference of the original lab programs, run as written on the same
+// synthetic traces as EngineBenchmark. The labs print a line (or a frame
+// table) for every reference; System.out goes to a discarding stream for
+// the trial, but building those strings stays in the measurement, and it
+// is most of what these numbers (and their allocation per reference) show.
+// They rescan the frames, and Optimal the rest of the trace, on every
+// reference, so they only run on the two smaller sizes.
+//
+// The labs are found under -Dlab.root (default ../.., the repository root
+// seen from this module).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LabBenchmark {
+
+    @Param({
+            "6 SPOS/PageReplacement.fifo", "6 SPOS/PageReplacement.lru",
+            "7 SPOS/PageReplacementOptimal.fifo", "7 SPOS/PageReplacementOptimal.optimal",
+            "13 SPOS/PageReplacementFIFOOptimal.fifo", "13 SPOS/PageReplacementFIFOOptimal.optimal",
+            "14 SPOS/PageReplacementFIFOandLRU.fifo", "14 SPOS/PageReplacementFIFOandLRU.lru",
+            "15 SPOS/PageReplacementAll.simulateFIFO", "15 SPOS/PageReplacementAll.simulateLRU",
+            "15 SPOS/PageReplacementAll.simulateOptimal",
+            "18 SPOS/PageReplacementAlgorithms.fifo", "18 SPOS/PageReplacementAlgorithms.lru",
+            "18 SPOS/PageReplacementAlgorithms.optimal",
+            "19 SPOS/PageReplacementFIFOAndLRU.fifo", "19 SPOS/PageReplacementFIFOAndLRU.lru",
+            "20 SPOS/PageReplacementFIFOOptimal.fifo", "20 SPOS/PageReplacementFIFOOptimal.optimal",
+            "21 SPOS/PageReplacementAll.fifo", "21 SPOS/PageReplacementAll.lru", "21 SPOS/PageReplacementAll.optimal"})
+    public String lab;
+
+    @Param({"uniform", "zipfian", "looping", "scan"})
+    public String trace;
+
+    @Param({"64"})
+    public int frames;
+
+    private Method method;
+    private int[] ref1k;
+    private int[] ref10k;
+    private PrintStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        method = LabPrograms.load(Paths.get(System.getProperty("lab.root", "../..")), lab);
+        Engines engines = Engines.load();
+        ref1k = engines.trace(trace, 1_000, frames);
+        ref10k = engines.trace(trace, 10_000, frames);
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1_000)
+    public void refs1k() throws Exception {
+        method.invoke(null, ref1k, frames);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void refs10k() throws Exception {
+        method.invoke(null, ref10k, frames);
+    }
+}
@@ -0,0 +1,64 @@
+package spos.bench;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+import javax.tools.*;
+
+// Compiles one original lab program from its "N SPOS" folder and returns
+// one of its static (int[] pages, int frames) methods. Several labs share
+// a class name, so each gets its own class loader. Every class of the lab
+// is loaded up front, after which the temporary class directory is
+// deleted again.
+final class LabPrograms {
+
+    private LabPrograms() {
+    }
+
+    // spec is "folder/Class.method", e.g. "15 SPOS/PageReplacementAll.simulateLRU"
+    static Method load(Path labRoot, String spec) throws IOException, ReflectiveOperationException {
+        int slash = spec.lastIndexOf('/');
+        int dot = spec.lastIndexOf('.');
+        String folder = spec.substring(0, slash);
+        String className = spec.substring(slash + 1, dot);
+        Path source = labRoot.resolve(folder).resolve(className + ".java");
+        if (!Files.exists(source)) {
+            throw new FileNotFoundException(source + " (set -Dlab.root to the repository root)");
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The lab benchmarks need a JDK, not a JRE");
+        }
+
+        Path classes = Files.createTempDirectory("lab");
+        try {
+            int status = compiler.run(null, null, null, "-nowarn", "-d", classes.toString(), source.toString());
+            if (status != 0) {
+                throw new IllegalStateException("Could not compile " + source);
+            }
+            URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null);
+            try (Stream<Path> files = Files.list(classes)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".class")) loader.loadClass(name.substring(0, name.length() - 6));
+                }
+            }
+            Method method = loader.loadClass(className).getDeclaredMethod(spec.substring(dot + 1), int[].class, int.class);
+            method.setAccessible(true);
+            return method;
+        } finally {
+            deleteTree(classes);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// Preemptive priority scheduling with aging (lower value = higher priority).
+// A ready process moves up one priority level for every agingInterval it
+// waits, until it reaches bestPriority, and keeps what it gained while it
+// runs and if it is preempted again; otherwise a starved process that
+// finally got the CPU would lose it to the next arrival and start over.
+// Ties go to the process listed first.
+//
+// Ready processes sit in an indexed min-heap keyed by (effective priority,
+// input position), and a second indexed heap orders them by when they age
+// next, so an aging step is one decrease-key and a dispatch one poll, both
+// O(log n). The running process's slice ends at the next aging step of a
+// waiting process, so one that ages past it takes the CPU at that moment;
+// with nothing left to age the slice is unbounded. A process arriving
+// mid-slice may age before the slice ends; the kernel asks for the slice
+// again after each arrival, which picks that up.
+public class AgingPriorityPolicy implements SchedulingPolicy {
+    private final long agingInterval;
+    private final int bestPriority;
+
+    private IndexedMinHeap ready;
+    private IndexedMinHeap aging; // next aging time of each ready process
+    private Process[] byIndex;
+    private int[] effective;
+    private long[] agesAt; // next aging time of a stolen process, for the policy adopting it
+    private long agingSteps;
+    private long dispatchedAt;
+
+    // agingInterval 0 turns aging off
+    public AgingPriorityPolicy(long agingInterval, int bestPriority) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("agingInterval must not be negative: " + agingInterval);
+        }
+        this.agingInterval = agingInterval;
+        this.bestPriority = bestPriority;
+    }
+
+    @Override
+    public String name() {
+        return agingInterval == 0 ? "Priority + Aging (off)" : "Priority + Aging (every " + agingInterval + ")";
+    }
+
+    @Override
+    public void reset(int processes) {
+        ready = new IndexedMinHeap(processes);
+        aging = new IndexedMinHeap(processes);
+        byIndex = new Process[processes];
+        effective = new int[processes];
+        agesAt = new long[processes];
+        agingSteps = 0;
+    }
+
+    @Override
+    public void onArrival(Process p, long now) {
+        age(now);
+        effective[p.index] = p.priority;
+        enqueue(p, now + agingInterval);
+    }
+
+    @Override
+    public Process selectNext(long now) {
+        age(now);
+        if (ready.size() == 0) return null;
+        int i = ready.poll();
+        if (aging.contains(i)) aging.remove(i);
+        dispatchedAt = now;
+        return byIndex[i];
+    }
+
+    // Same pick as selectNext, without touching the running process's slice
+    @Override
+    public Process steal(long now) {
+        age(now);
+        if (ready.size() == 0) return null;
+        int i = ready.poll();
+        agesAt[i] = aging.contains(i) ? aging.key(i) : Long.MAX_VALUE;
+        if (aging.contains(i)) aging.remove(i);
+        return byIndex[i];
+    }
+
+    // Keeps the priority it gained and when it ages next on the other core
+    @Override
+    public void adopt(Process p, SchedulingPolicy from, long now) {
+        if (!(from instanceof AgingPriorityPolicy)) {
+            onArrival(p, now);
+            return;
+        }
+        AgingPriorityPolicy other = (AgingPriorityPolicy) from;
+        age(now);
+        effective[p.index] = other.effective[p.index];
+        enqueue(p, other.agesAt[p.index]);
+    }
+
+    @Override
+    public void onDelayedStart(Process p, long startsAt) {
+        dispatchedAt = startsAt;
+    }
+
+    // A waiting process may age before a delayed start; the slice is then
+    // empty and the kernel picks again once the running one starts
+    @Override
+    public long timeSlice(Process p) {
+        if (aging.size() == 0) return Long.MAX_VALUE;
+        return Math.max(0, aging.key(aging.peek()) - dispatchedAt);
+    }
+
+    @Override
+    public boolean preemptsOnArrival(Process arriving, Process running) {
+        return key(effective[arriving.index], arriving.index) < key(effective[running.index], running.index);
+    }
+
+    @Override
+    public void onPreempt(Process p, long now) {
+        age(now);
+        enqueue(p, now + agingInterval);
+    }
+
+    // Priority levels gained by waiting processes so far
+    public long agingSteps() {
+        return agingSteps;
+    }
+
+    private void enqueue(Process p, long agesAt) {
+        int i = p.index;
+        byIndex[i] = p;
+        ready.push(i, key(effective[i], i));
+        if (agingInterval > 0 && effective[i] > bestPriority) {
+            aging.push(i, agesAt);
+        }
+    }
+
+    // Applies every aging step due by now
+    private void age(long now) {
+        while (aging.size() > 0 && aging.key(aging.peek()) <= now) {
+            int i = aging.peek();
+            effective[i]--;
+            agingSteps++;
+            ready.update(i, key(effective[i], i));
+            if (effective[i] > bestPriority) {
+                aging.update(i, aging.key(i) + agingInterval);
+            } else {
+                aging.poll();
+            }
+        }
+    }
+
+    // Orders by priority, then input position
+    private static long key(int priority, int index) {
+        return ((long) priority << 32) | index;
+    }
+}
@@ -0,0 +1,282 @@
+import java.util.*;
+
+public class CPUScheduling {
+
+    // Demos that need more than the sample processes; they take seconds
+    // each and hundreds of MB of heap, so they only run when named
+    static final List<String> DEMOS = Arrays.asList("interactive", "multicore", "starvation", "quantum",
+            "sweep", "generated", "table", "tail", "large");
+
+    // With no arguments only the sample processes are scheduled; name demos
+    // to run them as well, e.g. "starvation tail", or "all" for every one
+    public static void main(String[] args) {
+        List<String> demos = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase("all")) {
+                demos.addAll(DEMOS);
+            } else if (DEMOS.contains(arg.toLowerCase())) {
+                demos.add(arg.toLowerCase());
+            } else {
+                throw new IllegalArgumentException("Unknown demo: " + arg + " (one of " + DEMOS + " or all)");
+            }
+        }
+
+        // Sample processes
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process("P1", 0, 4, 4));
+        processes.add(new Process("P2", 1, 3, 3));
+        processes.add(new Process("P3", 3, 4, 1));
+        processes.add(new Process("P4", 6, 2, 5));
+        processes.add(new Process("P5", 8, 4, 2));
+
+        List<SchedulingPolicy> policies = Arrays.asList(
+                new FcfsPolicy(), new SjfPolicy(), new SrtfPolicy(),
+                new PriorityPolicy(false), new PriorityPolicy(true), new RoundRobinPolicy(2));
+        for (SchedulingPolicy policy : policies) {
+            System.out.println("\n--- " + policy.name() + " Scheduling ---");
+            ScheduleResult result = SchedulingKernel.run(processes, policy);
+            SchedulingKernel.printResults(processes);
+            System.out.println(result);
+        }
+
+        for (String demo : demos) {
+            switch (demo) {
+                case "interactive": interactiveVsBatch(); break;
+                case "multicore": multiCore(4); break;
+                case "starvation": starvation(); break;
+                case "quantum": smallQuantum(200_000, 1000, 1); break;
+                case "sweep": quantumSweep(100_000, 20); break;
+                case "generated": generatedWorkloads(10_000_000, 0.7); break;
+                case "table": processTable(processes, 2_000_000); break;
+                case "tail": tailLatency(1_000_000); break;
+                case "large": largeRun(1_000_000, 5_000_000); break;
+            }
+        }
+    }
+
+    // Many short interactive bursts mixed with a few long batch jobs at about
+    // 80% load: MLFQ should get close to SRTF for the short jobs without
+    // knowing any burst lengths in advance
+    static void interactiveVsBatch() {
+        Random random = new Random(7);
+        List<Process> processes = new ArrayList<>();
+        long arrival = 0;
+        for (int i = 0; i < 20_000; i++) {
+            arrival += random.nextInt(100);
+            boolean batch = random.nextInt(10) == 0;
+            long burst = batch ? 100 + random.nextInt(400) : 1 + random.nextInt(20);
+            processes.add(new Process((batch ? "B" : "I") + (i + 1), arrival, burst));
+        }
+
+        System.out.println("\n--- Interactive (I) vs Batch (B) Jobs ---");
+        List<SchedulingPolicy> policies = Arrays.asList(
+                new FcfsPolicy(), new RoundRobinPolicy(10), new SrtfPolicy(),
+                new MlfqPolicy(new long[]{10, 40, 160, Long.MAX_VALUE}, 5000, 1000));
+        for (SchedulingPolicy policy : policies) {
+            System.out.println(SchedulingKernel.run(processes, policy));
+            for (String kind : new String[]{"I", "B"}) {
+                double rt = 0, tat = 0;
+                int count = 0;
+                for (Process p : processes) {
+                    if (!p.pid.startsWith(kind)) continue;
+                    rt += p.response();
+                    tat += p.turnaround();
+                    count++;
+                }
+                System.out.printf("    %s: Avg RT: %.2f, Avg TAT: %.2f\n", kind, rt / count, tat / count);
+            }
+        }
+    }
+
+    // The same workload on several cores: spread on arrival, then all queued
+    // on core 0 with and without idle cores stealing work
+    static void multiCore(int cores) {
+        Random random = new Random(11);
+        List<Process> spread = new ArrayList<>();
+        List<Process> onCoreZero = new ArrayList<>();
+        long arrival = 0;
+        for (int i = 0; i < 100_000; i++) {
+            arrival += random.nextInt(20);
+            long burst = 1 + random.nextInt(50);
+            spread.add(new Process("P" + (i + 1), arrival, burst));
+            onCoreZero.add(new Process("P" + (i + 1), arrival, burst, 0, 0));
+        }
+        long migrationCost = 5;
+
+        System.out.println("\n--- " + cores + " Cores, RR (q=10) per Core, Migration Cost " + migrationCost + " ---");
+        System.out.println("Least-loaded placement, stealing:");
+        System.out.println(MultiCoreKernel.run(spread, cores, () -> new RoundRobinPolicy(10), migrationCost, true));
+        System.out.println("All arrivals on core 0, no stealing:");
+        System.out.println(MultiCoreKernel.run(onCoreZero, cores, () -> new RoundRobinPolicy(10), migrationCost, false));
+        System.out.println("All arrivals on core 0, stealing:");
+        MultiCoreResult result = MultiCoreKernel.run(onCoreZero, cores, () -> new RoundRobinPolicy(10), migrationCost, true);
+        System.out.println(result);
+        result.printCores();
+    }
+
+    // A steady stream of high-priority work at about 90% load starves the
+    // low-priority jobs under plain preemptive priority; aging bounds their wait
+    static void starvation() {
+        Random random = new Random(3);
+        List<Process> processes = new ArrayList<>();
+        long arrival = 0;
+        for (int i = 0; i < 200_000; i++) {
+            arrival += random.nextInt(21);
+            boolean low = random.nextInt(100) == 0;
+            processes.add(new Process((low ? "L" : "H") + (i + 1), arrival,
+                    low ? 50 : 1 + random.nextInt(17), low ? 9 : random.nextInt(3)));
+        }
+
+        System.out.println("\n--- Starvation: priority 0-2 stream plus 1% priority 9 jobs ---");
+        for (SchedulingPolicy policy : Arrays.asList(new PriorityPolicy(true),
+                new AgingPriorityPolicy(1000, 0), new AgingPriorityPolicy(100, 0))) {
+            System.out.println(SchedulingKernel.run(processes, policy));
+            long maxLow = 0;
+            for (Process p : processes) {
+                if (p.pid.startsWith("L")) maxLow = Math.max(maxLow, p.waiting());
+            }
+            System.out.println("    Longest wait of a priority 9 job: " + maxLow);
+        }
+    }
+
+    // Round Robin with a tiny quantum means one dispatch per time unit of
+    // work; the ring-buffer engine and the policy kernel give the same schedule,
+    // at about half load
+    static void smallQuantum(int n, int maxBurst, long quantum) {
+        Random random = new Random(5);
+        List<Process> processes = new ArrayList<>(n);
+        long arrival = 0;
+        for (int i = 0; i < n; i++) {
+            arrival += random.nextInt(2 * maxBurst);
+            processes.add(new Process("P" + (i + 1), arrival, 1 + random.nextInt(maxBurst)));
+        }
+
+        System.out.println("\n--- " + n + " Processes, RR with Quantum " + quantum + " ---");
+        long start = System.nanoTime();
+        ScheduleResult kernel = SchedulingKernel.run(processes, new RoundRobinPolicy(quantum));
+        System.out.println(kernel + ", " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        start = System.nanoTime();
+        ScheduleResult engine = RoundRobinEngine.run(processes, quantum);
+        System.out.println(engine + ", " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // Every policy and RR quanta 1..maxQuantum on one workload, run in parallel
+    static void quantumSweep(int n, long maxQuantum) {
+        Random random = new Random(13);
+        List<Process> processes = new ArrayList<>(n);
+        long arrival = 0;
+        for (int i = 0; i < n; i++) {
+            arrival += random.nextInt(40);
+            processes.add(new Process("P" + (i + 1), arrival, 1 + random.nextInt(30), random.nextInt(10)));
+        }
+
+        System.out.println("\n--- Policy Comparison, " + n + " Processes, RR Quanta 1.." + maxQuantum + " ---");
+        long start = System.nanoTime();
+        List<ScheduleResult> results = SchedulingBatch.run(processes, SchedulingBatch.withQuantumSweep(maxQuantum));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        SchedulingBatch.printTable(results);
+        System.out.println(results.size() + " runs in " + millis + " ms");
+    }
+
+    // Ten million generated jobs per burst distribution, scheduled straight
+    // from the workload columns without creating a Process object, with
+    // percentiles collected as the jobs complete
+    static void generatedWorkloads(int n, double load) {
+        String[] names = {"Exponential (mean 15)", "Pareto (min 5, alpha 1.5)", "Bimodal (5% long)"};
+        WorkloadGenerator.BurstDistribution[] bursts = {
+                WorkloadGenerator.exponential(15),
+                WorkloadGenerator.pareto(5, 1.5, 1_000_000),
+                WorkloadGenerator.bimodal(5, 200, 0.05)};
+        for (int d = 0; d < bursts.length; d++) {
+            long start = System.nanoTime();
+            Workload workload = WorkloadGenerator.generate(n, WorkloadGenerator.interarrivalFor(15, load),
+                    bursts[d], 10, 1.0, 17);
+            long generated = System.nanoTime();
+            ScheduleMetrics metrics = new ScheduleMetrics();
+            ScheduleResult result = RoundRobinEngine.run(workload, 10, metrics);
+            long finished = System.nanoTime();
+
+            System.out.printf("\n--- %d Generated Jobs, %s Bursts, Offered Load %.2f ---\n",
+                    n, names[d], workload.offeredLoad());
+            System.out.println(result);
+            metrics.print();
+            System.out.printf("Generated in %d ms, scheduled in %d ms\n",
+                    (generated - start) / 1_000_000, (finished - generated) / 1_000_000);
+        }
+    }
+
+    // The columnar table against Process objects: the sample processes under
+    // SJF, then FCFS, SJF, Priority and RR on n generated jobs both ways
+    static void processTable(List<Process> sample, int n) {
+        System.out.println("\n--- SJF on a Columnar Process Table ---");
+        ProcessTable small = ProcessTable.of(sample);
+        System.out.println(TableScheduler.sjf(small));
+        small.printResults();
+
+        Workload workload = WorkloadGenerator.generate(n, WorkloadGenerator.interarrivalFor(15, 0.8),
+                WorkloadGenerator.exponential(15), 10, 0.5, 23);
+        List<Process> processes = workload.toProcesses();
+        ProcessTable table = ProcessTable.of(workload);
+        List<SchedulingPolicy> policies = Arrays.asList(
+                new FcfsPolicy(), new SjfPolicy(), new PriorityPolicy(false), new RoundRobinPolicy(10));
+
+        System.out.println("\n--- " + n + " Processes, Policy Kernel on Objects vs Columnar Table ---");
+        for (int k = 0; k < policies.size(); k++) {
+            long start = System.nanoTime();
+            ScheduleResult objects = SchedulingKernel.run(processes, policies.get(k));
+            long middle = System.nanoTime();
+            ScheduleResult columns = k == 0 ? TableScheduler.fcfs(table)
+                    : k == 1 ? TableScheduler.sjf(table)
+                    : k == 2 ? TableScheduler.priority(table)
+                    : TableScheduler.roundRobin(table, 10);
+            long end = System.nanoTime();
+            System.out.println(columns);
+            System.out.printf("    objects %d ms, table %d ms\n", (middle - start) / 1_000_000, (end - middle) / 1_000_000);
+            if (objects.totalWaiting != columns.totalWaiting || objects.contextSwitches != columns.contextSwitches) {
+                throw new IllegalStateException(columns.policy + ": table and kernel disagree");
+            }
+        }
+    }
+
+    // Heavy-tailed bursts: averages hide what the slowest 1% of jobs see,
+    // so percentiles are collected on the fly as each process completes
+    static void tailLatency(int n) {
+        Workload workload = WorkloadGenerator.generate(n, WorkloadGenerator.interarrivalFor(15, 0.7),
+                WorkloadGenerator.pareto(5, 1.5, 100_000), 10, 0, 29);
+        List<Process> processes = workload.toProcesses();
+        List<SchedulingPolicy> policies = Arrays.asList(
+                new FcfsPolicy(), new SrtfPolicy(), new RoundRobinPolicy(10),
+                new MlfqPolicy(new long[]{10, 40, 160, Long.MAX_VALUE}, 5000, 1000));
+
+        System.out.println("\n--- Tail Latency, " + n + " Processes, Pareto Bursts ---");
+        for (SchedulingPolicy policy : policies) {
+            ScheduleMetrics metrics = new ScheduleMetrics();
+            SchedulingKernel.run(processes, policy, metrics);
+            System.out.println("\n" + policy.name() + ":");
+            metrics.print();
+        }
+    }
+
+    // A million processes with bursts up to five million time units at
+    // about half load, far beyond what the tick-by-tick loops could get through
+    static void largeRun(int n, int maxBurst) {
+        Random random = new Random(42);
+        List<Process> processes = new ArrayList<>(n);
+        long arrival = 0;
+        for (int i = 0; i < n; i++) {
+            arrival += random.nextInt(2 * maxBurst);
+            processes.add(new Process("P" + (i + 1), arrival, 1 + random.nextInt(maxBurst), random.nextInt(10)));
+        }
+
+        System.out.println("\n--- " + n + " Processes, Bursts up to " + maxBurst + " ---");
+        List<SchedulingPolicy> policies = Arrays.asList(
+                new FcfsPolicy(), new SjfPolicy(), new SrtfPolicy(),
+                new PriorityPolicy(false), new RoundRobinPolicy(maxBurst / 10));
+        for (SchedulingPolicy policy : policies) {
+            long start = System.nanoTime();
+            ScheduleResult result = SchedulingKernel.run(processes, policy);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(result + ", " + millis + " ms");
+        }
+    }
+}
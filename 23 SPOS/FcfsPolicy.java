@@ -0,0 +1,42 @@
+import java.util.*;
+
+// First come, first served. Processes reach the policy in arrival order,
+// so a plain FIFO deque is enough.
+public class FcfsPolicy implements SchedulingPolicy {
+    private final ArrayDeque<Process> ready = new ArrayDeque<>();
+
+    @Override
+    public String name() {
+        return "FCFS";
+    }
+
+    @Override
+    public void reset(int processes) {
+        ready.clear();
+    }
+
+    @Override
+    public void onArrival(Process p, long now) {
+        ready.addLast(p);
+    }
+
+    @Override
+    public Process selectNext(long now) {
+        return ready.pollFirst();
+    }
+
+    @Override
+    public long timeSlice(Process p) {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean preemptsOnArrival(Process arriving, Process running) {
+        return false;
+    }
+
+    @Override
+    public void onPreempt(Process p, long now) {
+        ready.addFirst(p);
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.*;
+
+// Base for policies that always run the "smallest" ready process under
+// some ordering, keeping the ready processes in a binary heap. When
+// preemptive, an arrival that orders before the running process takes
+// the CPU. Ties go to the process listed first, as in the lab versions.
+abstract class HeapPolicy implements SchedulingPolicy {
+    private final Comparator<Process> order;
+    private final boolean preemptive;
+    private PriorityQueue<Process> ready;
+
+    HeapPolicy(Comparator<Process> order, boolean preemptive) {
+        this.order = order.thenComparingInt(p -> p.index);
+        this.preemptive = preemptive;
+    }
+
+    @Override
+    public void reset(int processes) {
+        ready = new PriorityQueue<>(Math.max(1, processes), order);
+    }
+
+    @Override
+    public void onArrival(Process p, long now) {
+        ready.add(p);
+    }
+
+    @Override
+    public Process selectNext(long now) {
+        return ready.poll();
+    }
+
+    @Override
+    public long timeSlice(Process p) {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean preemptsOnArrival(Process arriving, Process running) {
+        return preemptive && order.compare(arriving, running) < 0;
+    }
+
+    @Override
+    public void onPreempt(Process p, long now) {
+        ready.add(p);
+    }
+}
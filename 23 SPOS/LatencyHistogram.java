@@ -0,0 +1,69 @@
+// Log-bucketed histogram of non-negative longs in the style of
+// HdrHistogram: values below 2^(bits+1) get a bucket each, and every
+// power of two above that is split into 2^bits equal buckets. A recorded
+// value is therefore known to within one part in 2^bits (under 1% for
+// bits = 7) however large it is, and the histogram is a fixed array of
+// (64 - bits) * 2^bits counters no matter how many values go in.
+public class LatencyHistogram {
+    private final int bits;
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long max;
+
+    public LatencyHistogram(int bits) {
+        if (bits < 1 || bits > 16) {
+            throw new IllegalArgumentException("bits must be 1..16: " + bits);
+        }
+        this.bits = bits;
+        this.counts = new long[(64 - bits) << bits];
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("negative value: " + value);
+        }
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : sum / (double) count;
+    }
+
+    // Smallest bucket bound at or below which at least percentile% of the
+    // values lie; never above the largest value recorded
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, highestIn(i));
+        }
+        return max;
+    }
+
+    // Value v with top bit at position msb >= bits keeps its top bits + 1
+    // bits: v >>> shift lies in [2^bits, 2^(bits+1)) for shift = msb - bits
+    private int indexOf(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - bits);
+        return (shift << bits) + (int) (value >>> shift);
+    }
+
+    private long highestIn(int index) {
+        int shift = Math.max(0, (index >>> bits) - 1);
+        long top = index - ((long) shift << bits);
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,232 @@
+import java.util.*;
+
+// Multi-level feedback queue.
+// New processes enter the top level (0). Each level has a time allotment
+// (its quantum); a process that uses it up, in one go or across several
+// dispatches, drops a level, so CPU-bound work sinks while short and
+// interactive work stays on top. Within a level it is Round Robin, and an
+// arrival preempts any process running from a lower level.
+// Two mechanisms keep the lower levels from starving:
+//   boost - every boostPeriod, all processes go back to the top level
+//           with a fresh allotment
+//   aging - a process that has waited agingThreshold at its level moves up one
+// Both are applied at the first scheduling event on or after they fall due
+// (the kernel only calls in at events); 0 disables either one. A boost
+// leaves the running process at its level, so arrivals can still preempt
+// it, and moves it to the top when it next goes back to a queue.
+//
+// Each level is an ArrayDeque and a bitmask marks the non-empty levels, so
+// picking the next process is O(1). Per-process state lives in arrays
+// indexed by Process.index.
+public class MlfqPolicy implements SchedulingPolicy {
+    private final long[] quanta;
+    private final long boostPeriod;
+    private final long agingThreshold;
+    private final List<ArrayDeque<Process>> queues = new ArrayList<>();
+    private long nonEmpty; // bit i set when level i has ready processes
+
+    private int[] level;
+    private long[] used;        // time used of the current level's allotment
+    private long[] readySince;  // when it joined its current level's queue
+    private long[] dispatchedAt;
+    private Process running;
+    private boolean boostRunning; // a boost fell due while running was on the CPU
+    private long nextBoost;
+    private long boosts, promotions, demotions;
+
+    // quanta[i] is the allotment of level i; the last may be Long.MAX_VALUE
+    // to run the bottom level first come, first served
+    public MlfqPolicy(long[] quanta, long boostPeriod, long agingThreshold) {
+        if (quanta.length == 0 || quanta.length > 64) {
+            throw new IllegalArgumentException("MLFQ needs 1 to 64 levels, not " + quanta.length);
+        }
+        for (long q : quanta) {
+            if (q <= 0) throw new IllegalArgumentException("quanta must be positive");
+        }
+        this.quanta = quanta.clone();
+        this.boostPeriod = boostPeriod;
+        this.agingThreshold = agingThreshold;
+        for (int i = 0; i < quanta.length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "MLFQ (" + quanta.length + " levels)";
+    }
+
+    @Override
+    public void reset(int processes) {
+        for (ArrayDeque<Process> queue : queues) queue.clear();
+        nonEmpty = 0;
+        level = new int[processes];
+        used = new long[processes];
+        readySince = new long[processes];
+        dispatchedAt = new long[processes];
+        running = null;
+        boostRunning = false;
+        nextBoost = boostPeriod;
+        boosts = promotions = demotions = 0;
+    }
+
+    @Override
+    public void onArrival(Process p, long now) {
+        boostIfDue(now);
+        level[p.index] = 0;
+        used[p.index] = 0;
+        enqueue(p, now);
+    }
+
+    @Override
+    public Process selectNext(long now) {
+        Process p = poll(now);
+        if (p == null) return null;
+        dispatchedAt[p.index] = now;
+        running = p;
+        boostRunning = false;
+        return p;
+    }
+
+    // Same pick as selectNext, but the process leaves this policy for good
+    // and whatever runs here keeps running
+    @Override
+    public Process steal(long now) {
+        return poll(now);
+    }
+
+    // Keeps the level and the allotment used there. The wait counts from
+    // when it was queued on the other core, but never from before the
+    // process queued ahead of it here, so each queue stays ordered.
+    @Override
+    public void adopt(Process p, SchedulingPolicy from, long now) {
+        if (!(from instanceof MlfqPolicy)) {
+            onArrival(p, now);
+            return;
+        }
+        MlfqPolicy other = (MlfqPolicy) from;
+        int i = p.index;
+        boostIfDue(now);
+        level[i] = other.level[i];
+        used[i] = other.used[i];
+        Process last = queues.get(level[i]).peekLast();
+        enqueue(p, now);
+        readySince[i] = last == null ? other.readySince[i] : Math.max(other.readySince[i], readySince[last.index]);
+    }
+
+    @Override
+    public void onDelayedStart(Process p, long startsAt) {
+        dispatchedAt[p.index] = startsAt;
+    }
+
+    @Override
+    public long timeSlice(Process p) {
+        long quantum = quanta[level[p.index]];
+        return quantum == Long.MAX_VALUE ? quantum : quantum - used[p.index];
+    }
+
+    @Override
+    public boolean preemptsOnArrival(Process arriving, Process running) {
+        return level[arriving.index] < level[running.index];
+    }
+
+    @Override
+    public void onPreempt(Process p, long now) {
+        int i = p.index;
+        running = null;
+        used[i] += Math.max(0, now - dispatchedAt[i]); // nothing if preempted before it started
+        if (boostRunning) {
+            boostRunning = false;
+            level[i] = 0;
+            used[i] = 0;
+        } else if (used[i] >= quanta[level[i]]) {
+            // allotment used up: move down a level
+            if (level[i] < quanta.length - 1) {
+                level[i]++;
+                demotions++;
+            }
+            used[i] = 0;
+        }
+        enqueue(p, now);
+        boostIfDue(now);
+    }
+
+    @Override
+    public void onComplete(Process p, long now) {
+        running = null;
+        boostRunning = false;
+    }
+
+    public long boosts() {
+        return boosts;
+    }
+
+    public long promotions() {
+        return promotions;
+    }
+
+    public long demotions() {
+        return demotions;
+    }
+
+    private Process poll(long now) {
+        boostIfDue(now);
+        age(now);
+        if (nonEmpty == 0) return null;
+        int top = Long.numberOfTrailingZeros(nonEmpty);
+        ArrayDeque<Process> queue = queues.get(top);
+        Process p = queue.pollFirst();
+        if (queue.isEmpty()) nonEmpty &= ~(1L << top);
+        return p;
+    }
+
+    // Appends at the tail, so each queue stays ordered by readySince
+    private void enqueue(Process p, long now) {
+        int l = level[p.index];
+        readySince[p.index] = now;
+        queues.get(l).addLast(p);
+        nonEmpty |= 1L << l;
+    }
+
+    private void boostIfDue(long now) {
+        if (boostPeriod <= 0 || now < nextBoost) return;
+        boosts++;
+        nextBoost = (now / boostPeriod + 1) * boostPeriod;
+        ArrayDeque<Process> top = queues.get(0);
+        for (Process p : top) {
+            used[p.index] = 0; // a fresh allotment for those already on top too
+        }
+        for (int l = 1; l < quanta.length; l++) {
+            ArrayDeque<Process> queue = queues.get(l);
+            Process p;
+            while ((p = queue.pollFirst()) != null) {
+                level[p.index] = 0;
+                used[p.index] = 0;
+                readySince[p.index] = now;
+                top.addLast(p);
+            }
+        }
+        nonEmpty = top.isEmpty() ? 0 : 1;
+        // moving the running process up now would give a level-0 process
+        // the rest of a lower level's slice, and nothing could preempt it
+        if (running != null) boostRunning = true;
+    }
+
+    // Promotes processes that waited too long at their level; the oldest
+    // waiter of each level is at the head of its queue
+    private void age(long now) {
+        if (agingThreshold <= 0) return;
+        for (int l = 1; l < quanta.length; l++) {
+            ArrayDeque<Process> queue = queues.get(l);
+            Process p;
+            while ((p = queue.peekFirst()) != null && now - readySince[p.index] >= agingThreshold) {
+                queue.pollFirst();
+                level[p.index] = l - 1;
+                used[p.index] = 0;
+                promotions++;
+                enqueue(p, now);
+            }
+            if (queue.isEmpty()) nonEmpty &= ~(1L << l);
+        }
+    }
+}
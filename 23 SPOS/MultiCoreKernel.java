@@ -0,0 +1,183 @@
+import java.util.*;
+import java.util.function.*;
+
+// Event-driven simulation of N cores, each with its own run queue.
+// Every core gets its own instance of the scheduling policy, so any
+// SchedulingPolicy works per core unchanged. The clock jumps between
+// arrivals and the earliest slice end over all cores.
+//
+//   placement - an arrival goes to its preferred core (Process.affinity),
+//               or else to the core with the fewest processes
+//   stealing  - a core whose queue is empty takes a ready process from the
+//               core with the most ready processes; its policy adopts the
+//               process with the state the other core's policy kept
+//   migration - a process dispatched on a different core than it last ran
+//               on first spends migrationCost refilling caches, which keeps
+//               the core busy without progress (or less, if an arrival
+//               preempts it before the caches are warm)
+// A preempted process goes back to the queue of the core it ran on.
+public class MultiCoreKernel {
+
+    public static MultiCoreResult run(List<Process> processes, int cores, Supplier<SchedulingPolicy> policyFactory,
+                                      long migrationCost, boolean stealing) {
+        return run(processes, cores, policyFactory, migrationCost, stealing, null);
+    }
+
+    // Also hands each process to metrics the moment it completes
+    public static MultiCoreResult run(List<Process> processes, int cores, Supplier<SchedulingPolicy> policyFactory,
+                                      long migrationCost, boolean stealing, ScheduleMetrics metrics) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("cores must be positive: " + cores);
+        }
+        if (metrics != null) metrics.setCpus(cores);
+        int n = processes.size();
+        Process[] arrivals = processes.toArray(new Process[0]);
+        for (int i = 0; i < n; i++) {
+            arrivals[i].reset(i);
+        }
+        Arrays.sort(arrivals, SchedulingKernel.BY_ARRIVAL);
+
+        SchedulingPolicy[] policies = new SchedulingPolicy[cores];
+        for (int c = 0; c < cores; c++) {
+            policies[c] = policyFactory.get();
+            policies[c].reset(n);
+        }
+        Process[] running = new Process[cores];
+        Process[] previous = new Process[cores];
+        int[] ready = new int[cores];
+        long[] progressFrom = new long[cores]; // when the running process's work (re)started
+        long[] dispatched = new long[cores];   // when its slice started, after any migration cost
+        long[] sliceEnd = new long[cores];
+        long[] busy = new long[cores];
+        long[] overhead = new long[cores];
+        long contextSwitches = 0, preemptions = 0, steals = 0, migrations = 0;
+
+        int next = 0;
+        int done = 0;
+        long time = 0;
+        boolean[] preempt = new boolean[cores];
+
+        while (done < n) {
+            // give every idle core something to run
+            boolean anyRunning = false;
+            for (int c = 0; c < cores; c++) {
+                if (running[c] == null) {
+                    Process p = ready[c] > 0 ? policies[c].selectNext(time) : null;
+                    if (p != null) {
+                        ready[c]--;
+                    } else if (stealing) {
+                        int victim = -1;
+                        for (int v = 0; v < cores; v++) {
+                            if (ready[v] > 0 && (victim < 0 || ready[v] > ready[victim])) victim = v;
+                        }
+                        if (victim >= 0) {
+                            Process stolen = policies[victim].steal(time);
+                            ready[victim]--;
+                            steals++;
+                            policies[c].adopt(stolen, policies[victim], time);
+                            p = policies[c].selectNext(time);
+                        }
+                    }
+                    if (p != null) {
+                        if (previous[c] != null && previous[c] != p) contextSwitches++;
+                        previous[c] = p;
+                        if (p.start < 0) p.start = time;
+                        progressFrom[c] = time;
+                        if (p.lastCore >= 0 && p.lastCore != c) {
+                            migrations++;
+                            overhead[c] += migrationCost;
+                            progressFrom[c] += migrationCost;
+                            policies[c].onDelayedStart(p, progressFrom[c]);
+                        }
+                        p.lastCore = c;
+                        running[c] = p;
+                        dispatched[c] = progressFrom[c];
+                        sliceEnd[c] = progressFrom[c] + Math.min(p.remaining, policies[c].timeSlice(p));
+                    }
+                }
+                anyRunning |= running[c] != null;
+            }
+
+            long firstEnd = Long.MAX_VALUE;
+            for (int c = 0; c < cores; c++) {
+                if (running[c] != null) firstEnd = Math.min(firstEnd, sliceEnd[c]);
+            }
+            long nextArrival = next < n ? arrivals[next].arrival : Long.MAX_VALUE;
+            if (!anyRunning) {
+                time = nextArrival; // every core idle until the next arrival
+            } else {
+                time = Math.min(firstEnd, nextArrival);
+            }
+
+            // arrivals first, so they queue ahead of processes whose slice ends now
+            while (next < n && arrivals[next].arrival <= time) {
+                Process p = arrivals[next++];
+                int c = p.affinity >= 0 ? p.affinity % cores : leastLoaded(running, ready);
+                policies[c].onArrival(p, time);
+                ready[c]++;
+                if (running[c] != null && sliceEnd[c] > time) {
+                    sync(c, running, progressFrom, busy, time);
+                    preempt[c] |= policies[c].preemptsOnArrival(p, running[c]);
+                    if (!preempt[c]) {
+                        long slice = policies[c].timeSlice(running[c]);
+                        if (slice < sliceEnd[c] - dispatched[c]) {
+                            sliceEnd[c] = Math.max(time, dispatched[c] + slice);
+                        }
+                    }
+                }
+            }
+
+            for (int c = 0; c < cores; c++) {
+                Process p = running[c];
+                if (p == null) continue;
+                if (sliceEnd[c] == time) {
+                    sync(c, running, progressFrom, busy, time);
+                    if (p.remaining == 0) {
+                        p.completion = time;
+                        policies[c].onComplete(p, time);
+                        if (metrics != null) metrics.record(p);
+                        done++;
+                    } else {
+                        policies[c].onPreempt(p, time);
+                        ready[c]++;
+                    }
+                    running[c] = null;
+                } else if (preempt[c]) {
+                    preemptions++;
+                    // preempted while still refilling caches: only the part
+                    // of the migration cost spent so far was overhead
+                    if (progressFrom[c] > time) overhead[c] -= progressFrom[c] - time;
+                    policies[c].onPreempt(p, time);
+                    ready[c]++;
+                    running[c] = null;
+                }
+                preempt[c] = false;
+            }
+        }
+        return new MultiCoreResult(policies[0].name(), processes, contextSwitches, preemptions,
+                busy, overhead, steals, migrations);
+    }
+
+    // Credits the running process on core c with the work done up to now
+    private static void sync(int c, Process[] running, long[] progressFrom, long[] busy, long now) {
+        long ran = now - progressFrom[c];
+        if (ran > 0) {
+            running[c].remaining -= ran;
+            busy[c] += ran;
+            progressFrom[c] = now;
+        }
+    }
+
+    private static int leastLoaded(Process[] running, int[] ready) {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int c = 0; c < ready.length; c++) {
+            int load = ready[c] + (running[c] != null ? 1 : 0);
+            if (load < bestLoad) {
+                best = c;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.*;
+
+// Outcome of a multi-core run: the single-CPU aggregates plus per-core
+// busy time and migration overhead.
+public class MultiCoreResult extends ScheduleResult {
+    final long[] coreBusy;
+    final long[] coreOverhead;
+    final long steals;
+    final long migrations;
+
+    MultiCoreResult(String policy, List<Process> plist, long contextSwitches, long preemptions,
+                    long[] coreBusy, long[] coreOverhead, long steals, long migrations) {
+        super(policy, plist, contextSwitches, preemptions);
+        this.coreBusy = coreBusy;
+        this.coreOverhead = coreOverhead;
+        this.steals = steals;
+        this.migrations = migrations;
+    }
+
+    int cores() {
+        return coreBusy.length;
+    }
+
+    // Share of all cores' time spent on useful work
+    @Override
+    double utilization() {
+        return makespan == 0 ? 0 : busy / ((double) makespan * cores());
+    }
+
+    double coreUtilization(int core) {
+        return makespan == 0 ? 0 : (coreBusy[core] + coreOverhead[core]) / (double) makespan;
+    }
+
+    // Busiest core's load over the mean load; 1.0 is a perfect balance
+    double loadImbalance() {
+        long max = 0, total = 0;
+        for (int c = 0; c < cores(); c++) {
+            long load = coreBusy[c] + coreOverhead[c];
+            max = Math.max(max, load);
+            total += load;
+        }
+        return total == 0 ? 1 : max * cores() / (double) total;
+    }
+
+    void printCores() {
+        System.out.println("Core\tBusy\tMigration\tUtilization");
+        for (int c = 0; c < cores(); c++) {
+            System.out.printf("%d\t%d\t%d\t\t%.1f%%\n", c, coreBusy[c], coreOverhead[c], 100 * coreUtilization(c));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + String.format("\n    %d cores, Utilization: %.1f%%, Load Imbalance: %.3f, Steals: %d, Migrations: %d",
+                cores(), 100 * utilization(), loadImbalance(), steals, migrations);
+    }
+}
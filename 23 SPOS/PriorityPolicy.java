@@ -0,0 +1,17 @@
+import java.util.*;
+
+// Static priority scheduling, lower value = higher priority; optionally
+// preemptive, where a higher-priority arrival takes the CPU.
+public class PriorityPolicy extends HeapPolicy {
+    private final boolean preemptive;
+
+    public PriorityPolicy(boolean preemptive) {
+        super(Comparator.comparingInt(p -> p.priority), preemptive);
+        this.preemptive = preemptive;
+    }
+
+    @Override
+    public String name() {
+        return preemptive ? "Priority (Preemptive)" : "Priority";
+    }
+}
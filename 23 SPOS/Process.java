@@ -0,0 +1,63 @@
+// One process as the schedulers in this folder see it.
+// Times are longs so a million processes with bursts in the millions
+// cannot overflow the clock.
+public class Process {
+    final String pid;
+    final long arrival;
+    final long burst;
+    final int priority; // lower value = higher priority
+    final int affinity; // preferred core on a multi-core run, -1 for none
+
+    int index;          // position in the input list, used to break ties
+    int lastCore;       // core it last ran on, -1 before it first runs
+    long remaining;
+    long start = -1;
+    long completion;
+
+    public Process(String pid, long arrival, long burst, int priority) {
+        this(pid, arrival, burst, priority, -1);
+    }
+
+    public Process(String pid, long arrival, long burst, int priority, int affinity) {
+        if (arrival < 0 || burst <= 0) {
+            throw new IllegalArgumentException(pid + ": arrival must be >= 0 and burst > 0");
+        }
+        this.pid = pid;
+        this.arrival = arrival;
+        this.burst = burst;
+        this.priority = priority;
+        this.affinity = affinity;
+        this.remaining = burst;
+        this.lastCore = -1;
+    }
+
+    public Process(String pid, long arrival, long burst) {
+        this(pid, arrival, burst, 0);
+    }
+
+    // Fresh process with the same inputs, for runs that must not share state
+    Process copy() {
+        return new Process(pid, arrival, burst, priority, affinity);
+    }
+
+    // Clears the results of a previous run
+    void reset(int index) {
+        this.index = index;
+        this.remaining = burst;
+        this.start = -1;
+        this.completion = 0;
+        this.lastCore = -1;
+    }
+
+    long turnaround() {
+        return completion - arrival;
+    }
+
+    long waiting() {
+        return turnaround() - burst;
+    }
+
+    long response() {
+        return start - arrival;
+    }
+}
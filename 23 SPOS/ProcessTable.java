@@ -0,0 +1,150 @@
+import java.util.*;
+
+// Processes in struct-of-arrays form, the columnar counterpart of a
+// List<Process> for TableScheduler: one primitive array per field, rows
+// sorted by arrival (ties in input order). A row costs 48 bytes against
+// well over 100 for a Process object with its pid string and list slot,
+// and a scheduling loop walks dense arrays instead of chasing pointers.
+//
+// Process ids are not stored per row: id[row] is the row's position in
+// the input, which breaks ties like Process.index does, and names holds
+// each pid once by that position. Tables built from a Workload have no
+// names; their rows are P1..Pn.
+public class ProcessTable {
+    final long[] arrival;
+    final long[] burst;
+    final int[] priority; // lower value = higher priority
+    final int[] id;
+    private final String[] names;
+
+    // results of the last run
+    final long[] remaining;
+    final long[] start;
+    final long[] completion;
+
+    private ProcessTable(long[] arrival, long[] burst, int[] priority, int[] id, String[] names) {
+        int n = arrival.length;
+        this.arrival = arrival;
+        this.burst = burst;
+        this.priority = priority;
+        this.id = id;
+        this.names = names;
+        this.remaining = new long[n];
+        this.start = new long[n];
+        this.completion = new long[n];
+        reset();
+    }
+
+    // Shares the workload's columns; only the result columns are new
+    public static ProcessTable of(Workload workload) {
+        int[] id = new int[workload.size()];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = i;
+        }
+        return new ProcessTable(workload.arrival, workload.burst, workload.priority, id, null);
+    }
+
+    public static ProcessTable of(List<Process> processes) {
+        int n = processes.size();
+        Process[] input = processes.toArray(new Process[0]);
+        long[] arrivals = new long[n];
+        for (int i = 0; i < n; i++) {
+            arrivals[i] = input[i].arrival;
+        }
+        int[] order = arrivalOrder(arrivals);
+
+        long[] arrival = new long[n];
+        long[] burst = new long[n];
+        int[] priority = new int[n];
+        int[] id = new int[n];
+        String[] names = new String[n];
+        for (int row = 0; row < n; row++) {
+            Process p = input[order[row]];
+            arrival[row] = p.arrival;
+            burst[row] = p.burst;
+            priority[row] = p.priority;
+            id[row] = order[row];
+            names[order[row]] = p.pid;
+        }
+        return new ProcessTable(arrival, burst, priority, id, names);
+    }
+
+    // Input positions sorted by arrival, ties in input order. Each key packs
+    // the arrival above the position's bits, so one sort of a long[] does it
+    // without boxing; arrivals too large to share a long with the position
+    // are first replaced by their rank among the distinct arrivals.
+    private static int[] arrivalOrder(long[] arrival) {
+        int n = arrival.length;
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+        long max = 0;
+        for (long a : arrival) max = Math.max(max, a);
+
+        long[] keys = new long[n];
+        if ((max >>> (63 - bits)) == 0) {
+            for (int i = 0; i < n; i++) {
+                keys[i] = arrival[i] << bits | i;
+            }
+        } else {
+            long[] distinct = arrival.clone();
+            Arrays.sort(distinct);
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (m == 0 || distinct[i] != distinct[m - 1]) distinct[m++] = distinct[i];
+            }
+            for (int i = 0; i < n; i++) {
+                keys[i] = (long) Arrays.binarySearch(distinct, 0, m, arrival[i]) << bits | i;
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        long mask = (1L << bits) - 1;
+        for (int row = 0; row < n; row++) {
+            order[row] = (int) (keys[row] & mask);
+        }
+        return order;
+    }
+
+    public int size() {
+        return arrival.length;
+    }
+
+    String pid(int row) {
+        return names == null ? "P" + (id[row] + 1) : names[id[row]];
+    }
+
+    // Clears the results of a previous run
+    void reset() {
+        System.arraycopy(burst, 0, remaining, 0, burst.length);
+        Arrays.fill(start, -1);
+        Arrays.fill(completion, 0);
+    }
+
+    ScheduleResult result(String policy, long contextSwitches, long preemptions) {
+        return new ScheduleResult(policy, arrival, burst, start, completion, contextSwitches, preemptions);
+    }
+
+    // Same layout as SchedulingKernel.printResults, in input order
+    void printResults() {
+        int n = size();
+        int[] rowOf = new int[n];
+        for (int row = 0; row < n; row++) {
+            rowOf[id[row]] = row;
+        }
+        double avgWT = 0, avgTAT = 0;
+
+        System.out.println("\nPID\tAT\tBT\tPR\tST\tCT\tTAT\tWT");
+        for (int i = 0; i < n; i++) {
+            int row = rowOf[i];
+            long tat = completion[row] - arrival[row];
+            System.out.printf("%s\t%d\t%d\t%d\t%d\t%d\t%d\t%d\n",
+                    pid(row), arrival[row], burst[row], priority[row],
+                    start[row], completion[row], tat, tat - burst[row]);
+            avgWT += tat - burst[row];
+            avgTAT += tat;
+        }
+
+        System.out.printf("\nAverage Waiting Time: %.2f", avgWT / n);
+        System.out.printf("\nAverage Turnaround Time: %.2f\n", avgTAT / n);
+    }
+}
@@ -0,0 +1,116 @@
+import java.util.*;
+
+// Round Robin on its own, without the policy interface: the lab
+// simulateRR rescanned the whole process list twice per quantum, tracked
+// admission in a HashSet and idled one tick at a time. Here
+//   - arrivals are admitted by a cursor over the arrival-sorted array
+//   - the ready queue is a ring buffer of process indices; a process is
+//     queued at most once, so n slots never overflow
+//   - an empty queue jumps the clock straight to the next arrival
+// so a run costs O(n log n) for the sort plus O(1) per dispatch.
+// Same schedule as SchedulingKernel with RoundRobinPolicy: arrivals at the
+// end of a quantum queue ahead of the process that used it up.
+public class RoundRobinEngine {
+
+    public static ScheduleResult run(List<Process> processes, long quantum) {
+        return run(processes, quantum, null);
+    }
+
+    // Also hands each process to metrics the moment it completes
+    public static ScheduleResult run(List<Process> processes, long quantum, ScheduleMetrics metrics) {
+        int n = processes.size();
+        Process[] sorted = processes.toArray(new Process[0]);
+        for (int i = 0; i < n; i++) {
+            sorted[i].reset(i);
+        }
+        Arrays.sort(sorted, SchedulingKernel.BY_ARRIVAL);
+        long[] arrival = new long[n];
+        long[] burst = new long[n];
+        for (int k = 0; k < n; k++) {
+            arrival[k] = sorted[k].arrival;
+            burst[k] = sorted[k].burst;
+        }
+
+        long[] start = new long[n];
+        long[] completion = new long[n];
+        long contextSwitches = schedule(arrival, burst, burst.clone(), quantum, start, completion, metrics);
+        for (int k = 0; k < n; k++) {
+            sorted[k].start = start[k];
+            sorted[k].completion = completion[k];
+            sorted[k].remaining = 0;
+        }
+        return new ScheduleResult(name(quantum), processes, contextSwitches, 0);
+    }
+
+    // Straight from a workload's columns, no Process objects at all
+    public static ScheduleResult run(Workload workload, long quantum) {
+        return run(workload, quantum, null);
+    }
+
+    public static ScheduleResult run(Workload workload, long quantum, ScheduleMetrics metrics) {
+        int n = workload.size();
+        long[] start = new long[n];
+        long[] completion = new long[n];
+        long contextSwitches = schedule(workload.arrival, workload.burst, workload.burst.clone(), quantum,
+                start, completion, metrics);
+        return new ScheduleResult(name(quantum), workload.arrival, workload.burst, start, completion,
+                contextSwitches, 0);
+    }
+
+    // Runs jobs sorted by arrival (ties in input order), counting remaining
+    // down from each burst to 0 and filling in when each first ran and
+    // completed; returns the number of context switches. metrics may be null.
+    static long schedule(long[] arrival, long[] burst, long[] remaining, long quantum, long[] start,
+                         long[] completion, ScheduleMetrics metrics) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum must be positive: " + quantum);
+        }
+        int n = arrival.length;
+        Arrays.fill(start, -1);
+
+        int[] ring = new int[Math.max(n, 1)];
+        int head = 0, size = 0;
+        int next = 0;
+        int done = 0;
+        int previous = -1;
+        long time = 0;
+        long contextSwitches = 0;
+
+        while (done < n) {
+            while (next < n && arrival[next] <= time) {
+                ring[(head + size++) % ring.length] = next++;
+            }
+            if (size == 0) {
+                time = arrival[next]; // idle until the next arrival
+                continue;
+            }
+            int i = ring[head];
+            head = (head + 1) % ring.length;
+            size--;
+
+            if (previous >= 0 && previous != i) contextSwitches++;
+            previous = i;
+            if (start[i] < 0) start[i] = time;
+            long ran = Math.min(remaining[i], quantum);
+            time += ran;
+            remaining[i] -= ran;
+
+            // arrivals during the quantum queue ahead of the process
+            while (next < n && arrival[next] <= time) {
+                ring[(head + size++) % ring.length] = next++;
+            }
+            if (remaining[i] > 0) {
+                ring[(head + size++) % ring.length] = i;
+            } else {
+                completion[i] = time;
+                if (metrics != null) metrics.record(arrival[i], burst[i], start[i], time);
+                done++;
+            }
+        }
+        return contextSwitches;
+    }
+
+    private static String name(long quantum) {
+        return "RR (q=" + quantum + ", ring buffer)";
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.*;
+
+// Round Robin: a FIFO ready queue, and a process that uses up its quantum
+// goes to the back of it.
+public class RoundRobinPolicy implements SchedulingPolicy {
+    private final long quantum;
+    private final ArrayDeque<Process> ready = new ArrayDeque<>();
+
+    public RoundRobinPolicy(long quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+    }
+
+    @Override
+    public String name() {
+        return "RR (q=" + quantum + ")";
+    }
+
+    @Override
+    public void reset(int processes) {
+        ready.clear();
+    }
+
+    @Override
+    public void onArrival(Process p, long now) {
+        ready.addLast(p);
+    }
+
+    @Override
+    public Process selectNext(long now) {
+        return ready.pollFirst();
+    }
+
+    @Override
+    public long timeSlice(Process p) {
+        return quantum;
+    }
+
+    @Override
+    public boolean preemptsOnArrival(Process arriving, Process running) {
+        return false;
+    }
+
+    @Override
+    public void onPreempt(Process p, long now) {
+        ready.addLast(p);
+    }
+}
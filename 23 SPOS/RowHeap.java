@@ -0,0 +1,61 @@
+// Binary min-heap of ProcessTable rows ordered by one key column, ties
+// going to the row listed first in the input, as in HeapPolicy.
+final class RowHeap {
+    private final int[] heap;
+    private final long[] longKey; // one of the two key columns is set
+    private final int[] intKey;
+    private final int[] id;
+    private int size;
+
+    RowHeap(long[] key, int[] id) {
+        this(key, null, id);
+    }
+
+    RowHeap(int[] key, int[] id) {
+        this(null, key, id);
+    }
+
+    private RowHeap(long[] longKey, int[] intKey, int[] id) {
+        this.heap = new int[id.length];
+        this.longKey = longKey;
+        this.intKey = intKey;
+        this.id = id;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int row) {
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(row, heap[parent])) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = row;
+    }
+
+    int poll() {
+        int top = heap[0];
+        int last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], last)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    private boolean before(int a, int b) {
+        long ka = longKey != null ? longKey[a] : intKey[a];
+        long kb = longKey != null ? longKey[b] : intKey[b];
+        return ka < kb || (ka == kb && id[a] < id[b]);
+    }
+}
@@ -0,0 +1,70 @@
+// Streaming statistics for a scheduling run: SchedulingKernel,
+// MultiCoreKernel, RoundRobinEngine and TableScheduler all take one and
+// hand over each process as it completes, and waiting, turnaround and
+// response times go into fixed-size log-bucketed histograms. Percentiles
+// come out within 1% and the memory stays the same for ten processes or
+// ten million, where printResults and ScheduleResult need every process
+// kept around.
+public class ScheduleMetrics {
+    private static final int BITS = 7;
+
+    final LatencyHistogram waiting = new LatencyHistogram(BITS);
+    final LatencyHistogram turnaround = new LatencyHistogram(BITS);
+    final LatencyHistogram response = new LatencyHistogram(BITS);
+    private long busy;
+    private int cpus = 1;
+    private long firstArrival = Long.MAX_VALUE;
+    private long lastCompletion;
+
+    public void record(Process p) {
+        record(p.arrival, p.burst, p.start, p.completion);
+    }
+
+    public void record(long arrival, long burst, long start, long completion) {
+        waiting.record(completion - arrival - burst);
+        turnaround.record(completion - arrival);
+        response.record(start - arrival);
+        busy += burst;
+        firstArrival = Math.min(firstArrival, arrival);
+        lastCompletion = Math.max(lastCompletion, completion);
+    }
+
+    // Set by MultiCoreKernel, so utilization is per CPU
+    void setCpus(int cpus) {
+        this.cpus = cpus;
+    }
+
+    public long processes() {
+        return turnaround.count();
+    }
+
+    // First arrival to last completion, over the processes seen so far
+    long makespan() {
+        return processes() == 0 ? 0 : lastCompletion - firstArrival;
+    }
+
+    // Share of all CPUs' time spent on useful work
+    double utilization() {
+        return makespan() == 0 ? 0 : busy / ((double) makespan() * cpus);
+    }
+
+    // Completed processes per unit of time
+    double throughput() {
+        return makespan() == 0 ? 0 : processes() / (double) makespan();
+    }
+
+    void print() {
+        System.out.println("Metric\t\tMean\tp50\tp95\tp99\tMax");
+        print("Waiting", waiting);
+        print("Turnaround", turnaround);
+        print("Response", response);
+        String cpuCount = cpus == 1 ? "" : String.format(" per CPU (%d CPUs)", cpus);
+        System.out.printf("Processes: %d, Utilization: %.1f%%%s, Throughput: %.4g\n",
+                processes(), 100 * utilization(), cpuCount, throughput());
+    }
+
+    private static void print(String name, LatencyHistogram h) {
+        System.out.printf("%-10s\t%.2f\t%d\t%d\t%d\t%d\n", name, h.mean(),
+                h.percentile(50), h.percentile(95), h.percentile(99), h.max());
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.*;
+
+// Aggregate outcome of one scheduling run, taken from the processes as the
+// kernel left them, so it stays valid when the same list is run again.
+public class ScheduleResult {
+    final String policy;
+    final int processes;
+    final long totalWaiting;
+    final long totalTurnaround;
+    final long totalResponse;
+    final long maxWaiting;
+    final long contextSwitches;
+    final long preemptions;
+    final long makespan; // first arrival to last completion
+    final long busy;     // time the CPU spent running processes
+
+    ScheduleResult(String policy, List<Process> plist, long contextSwitches, long preemptions) {
+        this.policy = policy;
+        this.processes = plist.size();
+        long wt = 0, tat = 0, rt = 0, busy = 0, maxWt = 0;
+        long first = Long.MAX_VALUE, last = 0;
+        for (Process p : plist) {
+            wt += p.waiting();
+            maxWt = Math.max(maxWt, p.waiting());
+            tat += p.turnaround();
+            rt += p.response();
+            busy += p.burst;
+            first = Math.min(first, p.arrival);
+            last = Math.max(last, p.completion);
+        }
+        this.totalWaiting = wt;
+        this.totalTurnaround = tat;
+        this.totalResponse = rt;
+        this.maxWaiting = maxWt;
+        this.contextSwitches = contextSwitches;
+        this.preemptions = preemptions;
+        this.makespan = processes == 0 ? 0 : last - first;
+        this.busy = busy;
+    }
+
+    // The same aggregates from columns, for engines that work without
+    // Process objects; job i arrived at arrival[i] and ran burst[i]
+    ScheduleResult(String policy, long[] arrival, long[] burst, long[] start, long[] completion,
+                   long contextSwitches, long preemptions) {
+        this.policy = policy;
+        this.processes = arrival.length;
+        long wt = 0, tat = 0, rt = 0, busy = 0, maxWt = 0;
+        long first = Long.MAX_VALUE, last = 0;
+        for (int i = 0; i < processes; i++) {
+            long turnaround = completion[i] - arrival[i];
+            wt += turnaround - burst[i];
+            maxWt = Math.max(maxWt, turnaround - burst[i]);
+            tat += turnaround;
+            rt += start[i] - arrival[i];
+            busy += burst[i];
+            first = Math.min(first, arrival[i]);
+            last = Math.max(last, completion[i]);
+        }
+        this.totalWaiting = wt;
+        this.totalTurnaround = tat;
+        this.totalResponse = rt;
+        this.maxWaiting = maxWt;
+        this.contextSwitches = contextSwitches;
+        this.preemptions = preemptions;
+        this.makespan = processes == 0 ? 0 : last - first;
+        this.busy = busy;
+    }
+
+    double avgWaiting() {
+        return processes == 0 ? 0 : totalWaiting / (double) processes;
+    }
+
+    double avgTurnaround() {
+        return processes == 0 ? 0 : totalTurnaround / (double) processes;
+    }
+
+    double avgResponse() {
+        return processes == 0 ? 0 : totalResponse / (double) processes;
+    }
+
+    // Completed processes per unit of time
+    double throughput() {
+        return makespan == 0 ? 0 : processes / (double) makespan;
+    }
+
+    double utilization() {
+        return makespan == 0 ? 0 : busy / (double) makespan;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> Avg WT: %.2f, Max WT: %d, Avg TAT: %.2f, Avg RT: %.2f, Context Switches: %d, Throughput: %.4g",
+                policy, avgWaiting(), maxWaiting, avgTurnaround(), avgResponse(), contextSwitches, throughput());
+    }
+}
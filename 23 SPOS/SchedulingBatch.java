@@ -0,0 +1,48 @@
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+// Runs one workload under many policies at once. Every run gets its own
+// copy of the processes (the kernel writes results into them) and its own
+// policy instance, so the runs share nothing and a parallel stream spreads
+// them across the cores. Results come back in the order of the policies.
+public class SchedulingBatch {
+
+    public static List<ScheduleResult> run(List<Process> workload, List<Supplier<SchedulingPolicy>> policies) {
+        return policies.parallelStream()
+                .map(policy -> SchedulingKernel.run(copyOf(workload), policy.get()))
+                .collect(Collectors.toList());
+    }
+
+    // FCFS, SJF, SRTF, both Priority variants and RR with every quantum 1..maxQuantum
+    public static List<Supplier<SchedulingPolicy>> withQuantumSweep(long maxQuantum) {
+        List<Supplier<SchedulingPolicy>> policies = new ArrayList<>();
+        policies.add(FcfsPolicy::new);
+        policies.add(SjfPolicy::new);
+        policies.add(SrtfPolicy::new);
+        policies.add(() -> new PriorityPolicy(false));
+        policies.add(() -> new PriorityPolicy(true));
+        for (long q = 1; q <= maxQuantum; q++) {
+            long quantum = q;
+            policies.add(() -> new RoundRobinPolicy(quantum));
+        }
+        return policies;
+    }
+
+    static List<Process> copyOf(List<Process> workload) {
+        List<Process> copy = new ArrayList<>(workload.size());
+        for (Process p : workload) {
+            copy.add(p.copy());
+        }
+        return copy;
+    }
+
+    // One row per policy
+    static void printTable(List<ScheduleResult> results) {
+        System.out.printf("%-24s%12s%12s%12s%14s%12s\n", "Policy", "Avg WT", "Avg TAT", "Avg RT", "Ctx Switches", "Throughput");
+        for (ScheduleResult r : results) {
+            System.out.printf("%-24s%12.2f%12.2f%12.2f%14d%12.4g\n",
+                    r.policy, r.avgWaiting(), r.avgTurnaround(), r.avgResponse(), r.contextSwitches, r.throughput());
+        }
+    }
+}
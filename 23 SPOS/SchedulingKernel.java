@@ -0,0 +1,115 @@
+import java.util.*;
+
+// Event-driven simulation kernel shared by every scheduling policy.
+// Instead of advancing the clock one tick at a time and rescanning every
+// process, the clock jumps straight to the next event: an arrival, the end
+// of a time slice, or the completion of the running process. The policy
+// keeps the ready processes (a heap or a deque), so a whole run costs
+// O(n log n) no matter how long the bursts are.
+//
+// Arrivals that land exactly when a time slice ends join the ready queue
+// before the preempted process goes back, as in the lab Round Robin.
+public class SchedulingKernel {
+
+    // Arrival order, ties broken by position in the input
+    static final Comparator<Process> BY_ARRIVAL = Comparator.<Process>comparingLong(p -> p.arrival)
+            .thenComparingInt(p -> p.index);
+
+    public static ScheduleResult run(List<Process> processes, SchedulingPolicy policy) {
+        return run(processes, policy, null);
+    }
+
+    // Also hands each process to metrics the moment it completes
+    public static ScheduleResult run(List<Process> processes, SchedulingPolicy policy, ScheduleMetrics metrics) {
+        int n = processes.size();
+        Process[] arrivals = processes.toArray(new Process[0]);
+        for (int i = 0; i < n; i++) {
+            arrivals[i].reset(i);
+        }
+        Arrays.sort(arrivals, BY_ARRIVAL);
+        policy.reset(n);
+
+        int next = 0;
+        int done = 0;
+        long time = 0;
+        long contextSwitches = 0;
+        long preemptions = 0;
+        Process running = null;
+        Process previous = null;
+        long dispatched = 0;
+        long sliceEnd = 0;
+
+        while (done < n) {
+            if (running == null) {
+                while (next < n && arrivals[next].arrival <= time) {
+                    policy.onArrival(arrivals[next++], time);
+                }
+                running = policy.selectNext(time);
+                if (running == null) {
+                    time = arrivals[next].arrival; // idle until the next arrival
+                    continue;
+                }
+                if (previous != null && previous != running) contextSwitches++;
+                previous = running;
+                if (running.start < 0) running.start = time;
+                long slice = policy.timeSlice(running);
+                dispatched = time;
+                sliceEnd = time + Math.min(running.remaining, slice);
+            }
+
+            if (next < n && arrivals[next].arrival < sliceEnd) {
+                // an arrival while running: the policy may take the CPU away
+                long now = arrivals[next].arrival;
+                running.remaining -= now - time;
+                time = now;
+                boolean preempt = false;
+                while (next < n && arrivals[next].arrival <= time) {
+                    Process arriving = arrivals[next++];
+                    policy.onArrival(arriving, time);
+                    preempt |= policy.preemptsOnArrival(arriving, running);
+                }
+                if (preempt) {
+                    preemptions++;
+                    policy.onPreempt(running, time);
+                    running = null;
+                } else {
+                    long slice = policy.timeSlice(running);
+                    if (slice < sliceEnd - dispatched) sliceEnd = Math.max(time, dispatched + slice);
+                }
+                continue;
+            }
+
+            running.remaining -= sliceEnd - time;
+            time = sliceEnd;
+            if (running.remaining == 0) {
+                running.completion = time;
+                policy.onComplete(running, time);
+                if (metrics != null) metrics.record(running);
+                done++;
+            } else {
+                while (next < n && arrivals[next].arrival <= time) {
+                    policy.onArrival(arrivals[next++], time);
+                }
+                policy.onPreempt(running, time);
+            }
+            running = null;
+        }
+        return new ScheduleResult(policy.name(), processes, contextSwitches, preemptions);
+    }
+
+    static void printResults(List<Process> plist) {
+        double avgWT = 0, avgTAT = 0;
+
+        System.out.println("\nPID\tAT\tBT\tPR\tST\tCT\tTAT\tWT");
+        for (Process p : plist) {
+            System.out.printf("%s\t%d\t%d\t%d\t%d\t%d\t%d\t%d\n",
+                    p.pid, p.arrival, p.burst, p.priority,
+                    p.start, p.completion, p.turnaround(), p.waiting());
+            avgWT += p.waiting();
+            avgTAT += p.turnaround();
+        }
+
+        System.out.printf("\nAverage Waiting Time: %.2f", avgWT / plist.size());
+        System.out.printf("\nAverage Turnaround Time: %.2f\n", avgTAT / plist.size());
+    }
+}
@@ -0,0 +1,53 @@
+// A CPU scheduling policy plugged into SchedulingKernel.
+// The kernel owns the clock and the process states; a policy only keeps
+// the ready processes and decides who runs next and for how long.
+public interface SchedulingPolicy {
+
+    // Short name used when printing results
+    String name();
+
+    // Called before a run with the number of processes, to size any queues
+    // and drop state left from an earlier run
+    void reset(int processes);
+
+    // A process has arrived and is ready
+    void onArrival(Process p, long now);
+
+    // Removes and returns the ready process to run next, or null if none is ready
+    Process selectNext(long now);
+
+    // The process just selected only starts making progress at startsAt,
+    // after a migration refilled the caches (MultiCoreKernel calls this
+    // before timeSlice); count its slice from there, not from selectNext
+    default void onDelayedStart(Process p, long startsAt) {
+    }
+
+    // Longest the process may run, counted from its dispatch, before the
+    // kernel takes the CPU back; Long.MAX_VALUE lets it run until it
+    // completes or is preempted. The kernel asks again after every arrival
+    // that does not preempt it, so a policy may shorten the slice then.
+    long timeSlice(Process p);
+
+    // Whether a newly arrived process should take the CPU from the running one
+    boolean preemptsOnArrival(Process arriving, Process running);
+
+    // The running process lost the CPU with work left and is ready again
+    void onPreempt(Process p, long now);
+
+    // The running process has finished
+    default void onComplete(Process p, long now) {
+    }
+
+    // Removes a ready process so another CPU can run it (work stealing);
+    // by default the one this policy would have run next
+    default Process steal(long now) {
+        return selectNext(now);
+    }
+
+    // Takes in a process stolen from another CPU's policy, of the same
+    // kind, keeping what that policy knew about it (its level, what it
+    // gained by waiting); by default it is treated as a new arrival
+    default void adopt(Process p, SchedulingPolicy from, long now) {
+        onArrival(p, now);
+    }
+}
@@ -0,0 +1,15 @@
+import java.util.*;
+
+// Shortest job first, non-preemptive: the ready process with the smallest
+// burst runs to completion.
+public class SjfPolicy extends HeapPolicy {
+
+    public SjfPolicy() {
+        super(Comparator.comparingLong(p -> p.burst), false);
+    }
+
+    @Override
+    public String name() {
+        return "SJF";
+    }
+}
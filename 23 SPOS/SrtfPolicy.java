@@ -0,0 +1,15 @@
+import java.util.*;
+
+// Shortest remaining time first (preemptive SJF): an arrival with less
+// work left than the running process takes the CPU.
+public class SrtfPolicy extends HeapPolicy {
+
+    public SrtfPolicy() {
+        super(Comparator.comparingLong(p -> p.remaining), true);
+    }
+
+    @Override
+    public String name() {
+        return "SRTF";
+    }
+}
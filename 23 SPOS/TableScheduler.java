@@ -0,0 +1,84 @@
+// FCFS, SJF, Priority and Round Robin working directly on a ProcessTable's
+// columns. Each run clears the table's result columns, fills them in and
+// returns the same aggregates as SchedulingKernel with the matching policy
+// (the schedules are identical). Rows are in arrival order, so arrivals
+// are admitted by a cursor and idle gaps are skipped in one step.
+// Each run also takes an optional ScheduleMetrics (null for none) that is
+// handed every row the moment it completes.
+public class TableScheduler {
+
+    public static ScheduleResult fcfs(ProcessTable t) {
+        return fcfs(t, null);
+    }
+
+    // Rows already are in arrival order, ties in input order
+    public static ScheduleResult fcfs(ProcessTable t, ScheduleMetrics metrics) {
+        t.reset();
+        long time = 0;
+        for (int row = 0; row < t.size(); row++) {
+            time = Math.max(time, t.arrival[row]);
+            t.start[row] = time;
+            time += t.burst[row];
+            t.completion[row] = time;
+            t.remaining[row] = 0;
+            if (metrics != null) metrics.record(t.arrival[row], t.burst[row], t.start[row], time);
+        }
+        return t.result("FCFS", Math.max(0, t.size() - 1), 0);
+    }
+
+    public static ScheduleResult sjf(ProcessTable t) {
+        return sjf(t, null);
+    }
+
+    // Non-preemptive shortest job first
+    public static ScheduleResult sjf(ProcessTable t, ScheduleMetrics metrics) {
+        return runToCompletion(t, new RowHeap(t.burst, t.id), "SJF", metrics);
+    }
+
+    public static ScheduleResult priority(ProcessTable t) {
+        return priority(t, null);
+    }
+
+    // Non-preemptive priority, lower value first
+    public static ScheduleResult priority(ProcessTable t, ScheduleMetrics metrics) {
+        return runToCompletion(t, new RowHeap(t.priority, t.id), "Priority", metrics);
+    }
+
+    public static ScheduleResult roundRobin(ProcessTable t, long quantum) {
+        return roundRobin(t, quantum, null);
+    }
+
+    public static ScheduleResult roundRobin(ProcessTable t, long quantum, ScheduleMetrics metrics) {
+        t.reset();
+        long contextSwitches = RoundRobinEngine.schedule(t.arrival, t.burst, t.remaining, quantum,
+                t.start, t.completion, metrics);
+        return t.result("RR (q=" + quantum + ")", contextSwitches, 0);
+    }
+
+    // Each dispatch runs the first row of the heap to completion
+    private static ScheduleResult runToCompletion(ProcessTable t, RowHeap ready, String name,
+                                                  ScheduleMetrics metrics) {
+        t.reset();
+        int n = t.size();
+        int next = 0;
+        long time = 0;
+        int done = 0;
+        while (done < n) {
+            while (next < n && t.arrival[next] <= time) {
+                ready.push(next++);
+            }
+            if (ready.isEmpty()) {
+                time = t.arrival[next]; // idle until the next arrival
+                continue;
+            }
+            int row = ready.poll();
+            t.start[row] = time;
+            time += t.burst[row];
+            t.completion[row] = time;
+            t.remaining[row] = 0;
+            if (metrics != null) metrics.record(t.arrival[row], t.burst[row], t.start[row], time);
+            done++;
+        }
+        return t.result(name, Math.max(0, n - 1), 0);
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.*;
+
+// A workload in struct-of-arrays form: one flat column per input field
+// instead of one Process object per job, sorted by arrival. Job i is
+// arrival[i], burst[i], priority[i]; ten million jobs are three arrays of
+// 200 MB together, with no object headers, names or list nodes.
+public class Workload {
+    final long[] arrival;
+    final long[] burst;
+    final int[] priority; // lower value = higher priority
+
+    public Workload(long[] arrival, long[] burst, int[] priority) {
+        if (burst.length != arrival.length || priority.length != arrival.length) {
+            throw new IllegalArgumentException("columns differ in length");
+        }
+        for (int i = 0; i < arrival.length; i++) {
+            if (burst[i] <= 0 || arrival[i] < 0 || (i > 0 && arrival[i] < arrival[i - 1])) {
+                throw new IllegalArgumentException("job " + i + ": arrivals must be sorted and >= 0, bursts > 0");
+            }
+        }
+        this.arrival = arrival;
+        this.burst = burst;
+        this.priority = priority;
+    }
+
+    public int size() {
+        return arrival.length;
+    }
+
+    long totalBurst() {
+        long total = 0;
+        for (long b : burst) total += b;
+        return total;
+    }
+
+    // Work offered per unit of time between the first and the last arrival;
+    // at 1.0 and above a single CPU can never catch up
+    double offeredLoad() {
+        int n = size();
+        return n < 2 || arrival[n - 1] == arrival[0] ? 0 : totalBurst() / (double) (arrival[n - 1] - arrival[0]);
+    }
+
+    // Process objects P1..Pn for the policy kernel
+    public List<Process> toProcesses() {
+        List<Process> processes = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            processes.add(new Process("P" + (i + 1), arrival[i], burst[i], priority[i]));
+        }
+        return processes;
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.*;
+
+// Seeded synthetic workloads for stress-testing the schedulers; the same
+// seed and parameters always give the same workload.
+//   arrivals   - a Poisson process: exponential gaps with the given mean
+//   bursts     - exponential, heavy-tailed (Pareto) or bimodal
+//   priorities - levels 0..levels-1, level k picked with probability
+//                proportional to 1 / (k + 1)^skew (0 for uniform)
+// Times are whole units: gaps round to the nearest unit and every burst
+// is at least 1. The result goes straight into Workload's columns.
+public class WorkloadGenerator {
+
+    public interface BurstDistribution {
+        long next(Random random);
+    }
+
+    // Memoryless bursts around a mean
+    public static BurstDistribution exponential(double mean) {
+        return random -> Math.max(1, Math.round(sampleExponential(random, mean)));
+    }
+
+    // Pareto: P(burst > x) = (min / x)^alpha, cut off at max. Most bursts
+    // are near min while a few are huge; alpha <= 2 has infinite variance
+    public static BurstDistribution pareto(long min, double alpha, long max) {
+        if (min <= 0 || alpha <= 0 || max < min) {
+            throw new IllegalArgumentException("need 0 < min <= max and alpha > 0");
+        }
+        return random -> Math.min(max, (long) (min / Math.pow(1 - random.nextDouble(), 1 / alpha)));
+    }
+
+    // Short interactive bursts with a longFraction share of long batch bursts,
+    // each exponential around its own mean
+    public static BurstDistribution bimodal(double shortMean, double longMean, double longFraction) {
+        return random -> Math.max(1, Math.round(sampleExponential(random,
+                random.nextDouble() < longFraction ? longMean : shortMean)));
+    }
+
+    public static Workload generate(int n, double meanInterarrival, BurstDistribution bursts,
+                                    int priorityLevels, double prioritySkew, long seed) {
+        if (n < 0 || meanInterarrival < 0 || priorityLevels <= 0) {
+            throw new IllegalArgumentException("need n >= 0, meanInterarrival >= 0 and priorityLevels > 0");
+        }
+        double[] cdf = new double[priorityLevels];
+        double sum = 0;
+        for (int k = 0; k < priorityLevels; k++) {
+            sum += 1.0 / Math.pow(k + 1, prioritySkew);
+            cdf[k] = sum;
+        }
+
+        Random random = new Random(seed);
+        long[] arrival = new long[n];
+        long[] burst = new long[n];
+        int[] priority = new int[n];
+        long time = 0;
+        for (int i = 0; i < n; i++) {
+            time += Math.round(sampleExponential(random, meanInterarrival));
+            arrival[i] = time;
+            burst[i] = bursts.next(random);
+            int k = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            priority[i] = k >= 0 ? k : Math.min(-k - 1, priorityLevels - 1);
+        }
+        return new Workload(arrival, burst, priority);
+    }
+
+    // Mean gap between arrivals that gives one CPU the target load
+    public static double interarrivalFor(double meanBurst, double load) {
+        return meanBurst / load;
+    }
+
+    private static double sampleExponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+}